@@ -0,0 +1,82 @@
+package io.rocketbase.sample.benchmark;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures fromEntity, fromEntities, newEntity and updateEntityFromEdit of a converter<br>
+ * each subclass compares the mapstruct implementation with a hand-written baseline via the parameter implementation<br>
+ * run with java -jar target/benchmarks.jar -prof gc to get the allocation rate (gc.alloc.rate.norm = bytes per operation)
+ *
+ * @param <Entity> database entity
+ * @param <Read>   response data object
+ * @param <Write>  object with all properties that are changeable
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class AbstractConverterBenchmark<Entity, Read, Write> {
+
+    @Param({"mapstruct", "handwritten"})
+    public String implementation;
+
+    /**
+     * count of entities converted by fromEntities - a typical page size
+     */
+    @Param({"200"})
+    public int size;
+
+    protected EntityReadWriteConverter<Entity, Read, Write> converter;
+
+    protected List<Entity> entities;
+
+    protected Write write;
+
+    protected Entity target;
+
+    @Setup
+    public void setup() {
+        converter = "handwritten".equals(implementation) ? createHandwrittenConverter() : createMapStructConverter();
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(createEntity(i));
+        }
+        write = createWrite();
+        target = createEntity(size);
+    }
+
+    @Benchmark
+    public Read fromEntity() {
+        return converter.fromEntity(entities.get(0));
+    }
+
+    @Benchmark
+    public List<Read> fromEntities() {
+        return converter.fromEntities(entities);
+    }
+
+    @Benchmark
+    public Entity newEntity() {
+        return converter.newEntity(write);
+    }
+
+    @Benchmark
+    public Entity updateEntityFromEdit() {
+        return converter.updateEntityFromEdit(write, target);
+    }
+
+    protected abstract EntityReadWriteConverter<Entity, Read, Write> createMapStructConverter();
+
+    protected abstract EntityReadWriteConverter<Entity, Read, Write> createHandwrittenConverter();
+
+    protected abstract Entity createEntity(int index);
+
+    protected abstract Write createWrite();
+}
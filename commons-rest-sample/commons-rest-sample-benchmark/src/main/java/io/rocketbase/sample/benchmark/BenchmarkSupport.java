@@ -0,0 +1,59 @@
+package io.rocketbase.sample.benchmark;
+
+import io.rocketbase.commons.obfuscated.IdObfuscator;
+import io.rocketbase.commons.obfuscated.ObfuscatedId;
+import io.rocketbase.commons.obfuscated.SimpleObfuscatedId;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+
+/**
+ * wiring of the generated converters without a spring context
+ */
+final class BenchmarkSupport {
+
+    /**
+     * cheap obfuscator so that the benchmark measures the mapping and not the hashing
+     */
+    static final IdObfuscator ID_OBFUSCATOR = new IdObfuscator() {
+        @Override
+        public ObfuscatedId obfuscate(long id) {
+            return new SimpleObfuscatedId(id, Long.toString(id, 36));
+        }
+
+        @Override
+        public ObfuscatedId decode(String obfuscated) {
+            return new SimpleObfuscatedId(Long.parseLong(obfuscated, 36), obfuscated);
+        }
+    };
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * sets an @Autowired/@Resource field of a generated converter
+     */
+    static <T> T inject(T target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalStateException("missing field " + fieldName + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+        return target;
+    }
+
+    /**
+     * repository proxy that answers findAllById with the given result and fails on everything else
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R findAllByIdStub(Class<R> repositoryClass, Iterable<?> result) {
+        return (R) Proxy.newProxyInstance(repositoryClass.getClassLoader(), new Class<?>[]{repositoryClass}, (proxy, method, args) -> {
+            if ("findAllById".equals(method.getName())) {
+                return result;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package io.rocketbase.sample.benchmark;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.sample.converter.CompanyConverter;
+import io.rocketbase.sample.converter.CompanyConverterImpl;
+import io.rocketbase.sample.dto.company.CompanyRead;
+import io.rocketbase.sample.dto.company.CompanyWrite;
+import io.rocketbase.sample.model.CompanyEntity;
+
+public class CompanyConverterBenchmark extends AbstractConverterBenchmark<CompanyEntity, CompanyRead, CompanyWrite> {
+
+    @Override
+    protected EntityReadWriteConverter<CompanyEntity, CompanyRead, CompanyWrite> createMapStructConverter() {
+        return new CompanyConverterImpl();
+    }
+
+    @Override
+    protected EntityReadWriteConverter<CompanyEntity, CompanyRead, CompanyWrite> createHandwrittenConverter() {
+        return new HandwrittenCompanyConverter();
+    }
+
+    @Override
+    protected CompanyEntity createEntity(int index) {
+        return new CompanyEntity("company-" + index, "company " + index, "info@company" + index + ".com", "https://company" + index + ".com", 1L);
+    }
+
+    @Override
+    protected CompanyWrite createWrite() {
+        return new CompanyWrite("rocketbase", "info@rocketbase.io", "https://www.rocketbase.io");
+    }
+
+    /**
+     * baseline without null checks and generated helper methods
+     */
+    static class HandwrittenCompanyConverter implements CompanyConverter {
+
+        @Override
+        public CompanyRead fromEntity(CompanyEntity entity) {
+            return new CompanyRead(entity.getId(), entity.getName(), entity.getEmail(), entity.getUrl());
+        }
+
+        @Override
+        public CompanyEntity newEntity(CompanyWrite write) {
+            return new CompanyEntity(null, write.getName(), write.getEmail(), write.getUrl(), null);
+        }
+
+        @Override
+        public CompanyEntity updateEntityFromEdit(CompanyWrite write, CompanyEntity entity) {
+            entity.setName(write.getName());
+            entity.setEmail(write.getEmail());
+            entity.setUrl(write.getUrl());
+            return entity;
+        }
+    }
+}
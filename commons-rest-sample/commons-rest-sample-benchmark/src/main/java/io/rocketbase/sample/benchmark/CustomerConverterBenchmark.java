@@ -0,0 +1,55 @@
+package io.rocketbase.sample.benchmark;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.sample.converter.CustomerConverter;
+import io.rocketbase.sample.converter.CustomerConverterImpl;
+import io.rocketbase.sample.converter.ObfuscatedIdMapperImpl;
+import io.rocketbase.sample.dto.customer.CustomerRead;
+import io.rocketbase.sample.dto.customer.CustomerWrite;
+import io.rocketbase.sample.model.CustomerEntity;
+
+public class CustomerConverterBenchmark extends AbstractConverterBenchmark<CustomerEntity, CustomerRead, CustomerWrite> {
+
+    @Override
+    protected EntityReadWriteConverter<CustomerEntity, CustomerRead, CustomerWrite> createMapStructConverter() {
+        ObfuscatedIdMapperImpl idMapper = BenchmarkSupport.inject(new ObfuscatedIdMapperImpl(), "idObfuscator", BenchmarkSupport.ID_OBFUSCATOR);
+        return BenchmarkSupport.inject(new CustomerConverterImpl(), "obfuscatedIdMapper", idMapper);
+    }
+
+    @Override
+    protected EntityReadWriteConverter<CustomerEntity, CustomerRead, CustomerWrite> createHandwrittenConverter() {
+        return new HandwrittenCustomerConverter();
+    }
+
+    @Override
+    protected CustomerEntity createEntity(int index) {
+        return new CustomerEntity((long) index + 1, "customer " + index);
+    }
+
+    @Override
+    protected CustomerWrite createWrite() {
+        return new CustomerWrite("rocketbase");
+    }
+
+    /**
+     * baseline that obfuscates the id directly
+     */
+    static class HandwrittenCustomerConverter implements CustomerConverter {
+
+        @Override
+        public CustomerRead fromEntity(CustomerEntity entity) {
+            return new CustomerRead(entity.getId() != null ? BenchmarkSupport.ID_OBFUSCATOR.obfuscate(entity.getId()) : null, entity.getName());
+        }
+
+        @Override
+        public CustomerEntity newEntity(CustomerWrite write) {
+            return new CustomerEntity(null, write.getName());
+        }
+
+        @Override
+        public CustomerEntity updateEntityFromEdit(CustomerWrite write, CustomerEntity entity) {
+            entity.setName(write.getName());
+            return entity;
+        }
+    }
+}
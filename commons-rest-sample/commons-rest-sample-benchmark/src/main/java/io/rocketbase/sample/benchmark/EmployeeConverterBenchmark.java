@@ -0,0 +1,89 @@
+package io.rocketbase.sample.benchmark;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.sample.converter.EmployeeConverter;
+import io.rocketbase.sample.converter.EmployeeConverterImpl;
+import io.rocketbase.sample.dto.company.CompanyRead;
+import io.rocketbase.sample.dto.employee.EmployeeRead;
+import io.rocketbase.sample.dto.employee.EmployeeWrite;
+import io.rocketbase.sample.model.CompanyEntity;
+import io.rocketbase.sample.model.EmployeeEntity;
+import io.rocketbase.sample.repository.mongo.CompanyRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fromEntities includes prepare - the company repository is a stub that returns {@link #COMPANY_COUNT} companies
+ */
+public class EmployeeConverterBenchmark extends AbstractConverterBenchmark<EmployeeEntity, EmployeeRead, EmployeeWrite> {
+
+    private static final int COMPANY_COUNT = 10;
+
+    private final List<CompanyEntity> companies = new ArrayList<>();
+
+    @Override
+    protected EntityReadWriteConverter<EmployeeEntity, EmployeeRead, EmployeeWrite> createMapStructConverter() {
+        return BenchmarkSupport.inject(new EmployeeConverterImpl(), "companyRepository", getCompanyRepository());
+    }
+
+    @Override
+    protected EntityReadWriteConverter<EmployeeEntity, EmployeeRead, EmployeeWrite> createHandwrittenConverter() {
+        return BenchmarkSupport.inject(new HandwrittenEmployeeConverter(), "companyRepository", getCompanyRepository());
+    }
+
+    @Override
+    protected EmployeeEntity createEntity(int index) {
+        return new EmployeeEntity("employee-" + index, "first " + index, "last " + index, LocalDate.of(1980, 1, 1).plusDays(index),
+                index % 2 == 0, "employee" + index + "@company.com", getCompany(index % COMPANY_COUNT));
+    }
+
+    @Override
+    protected EmployeeWrite createWrite() {
+        return new EmployeeWrite("marten", "priess", LocalDate.of(1985, 5, 5), false, "marten@rocketbase.io");
+    }
+
+    private CompanyRepository getCompanyRepository() {
+        for (int i = 0; i < COMPANY_COUNT; i++) {
+            getCompany(i);
+        }
+        return BenchmarkSupport.findAllByIdStub(CompanyRepository.class, companies);
+    }
+
+    private CompanyEntity getCompany(int index) {
+        while (companies.size() <= index) {
+            int i = companies.size();
+            companies.add(new CompanyEntity("company-" + i, "company " + i, "info@company" + i + ".com", null, 1L));
+        }
+        return companies.get(index);
+    }
+
+    /**
+     * baseline without null checks - keeps prepare of {@link EmployeeConverter}
+     */
+    static class HandwrittenEmployeeConverter extends EmployeeConverter {
+
+        @Override
+        public EmployeeRead fromEntity(EmployeeEntity entity) {
+            CompanyEntity company = entity.getCompany();
+            return new EmployeeRead(entity.getId(), entity.getFirstName(), entity.getLastName(), entity.getDateOfBirth(), entity.isFemale(), entity.getEmail(),
+                    company != null ? new CompanyRead(company.getId(), company.getName(), company.getEmail(), company.getUrl()) : null);
+        }
+
+        @Override
+        public EmployeeEntity newEntity(EmployeeWrite write) {
+            return new EmployeeEntity(null, write.getFirstName(), write.getLastName(), write.getDateOfBirth(), write.isFemale(), write.getEmail(), null);
+        }
+
+        @Override
+        public EmployeeEntity updateEntityFromEdit(EmployeeWrite write, EmployeeEntity entity) {
+            entity.setFirstName(write.getFirstName());
+            entity.setLastName(write.getLastName());
+            entity.setDateOfBirth(write.getDateOfBirth());
+            entity.setFemale(write.isFemale());
+            entity.setEmail(write.getEmail());
+            return entity;
+        }
+    }
+}
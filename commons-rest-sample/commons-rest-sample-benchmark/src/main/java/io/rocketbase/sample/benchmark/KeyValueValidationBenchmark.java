@@ -0,0 +1,70 @@
+package io.rocketbase.sample.benchmark;
+
+import io.rocketbase.commons.model.EntityWithKeyValue;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures validateKeyValues of an entity with dozens of key values<br>
+ * compares the lookup table validation with the former regular expression check via the parameter implementation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyValueValidationBenchmark {
+
+    @Param({"lookup", "regex"})
+    public String implementation;
+
+    /**
+     * count of key values of the entity
+     */
+    @Param({"40"})
+    public int size;
+
+    private EntityWithKeyValue<?> entity;
+
+    @Setup
+    public void setup() {
+        entity = "regex".equals(implementation) ? new RegexKeyValueEntity() : new KeyValueEntity();
+        for (int i = 0; i < size; i++) {
+            entity.addKeyValue("attribute_" + i + ".value[" + (i % 5) + "]", "value of attribute " + i);
+        }
+    }
+
+    @Benchmark
+    public void validateKeyValues() {
+        entity.validateKeyValues();
+    }
+
+    @Getter
+    @Setter
+    static class KeyValueEntity implements EntityWithKeyValue<KeyValueEntity> {
+        private Map<String, String> keyValues = new LinkedHashMap<>();
+    }
+
+    /**
+     * baseline with the former check that compiles the regular expression for each key
+     */
+    static class RegexKeyValueEntity extends KeyValueEntity {
+
+        @Override
+        public void checkKeyValue(String key, String value) {
+            Assert.hasText(key, "Key must not be empty");
+            Assert.state(key.length() <= 50, "Key is too long - at least 50 chars");
+            Assert.state(key.matches("[a-zA-Z0-9_\\-\\.\\#\\[\\]]+"), "Allowed key chars are a-Z, 0-9 and _-.#[]");
+            if (value != null) {
+                Assert.state(value.length() <= 255, "Value is too long - at least 255 chars");
+            }
+        }
+    }
+}
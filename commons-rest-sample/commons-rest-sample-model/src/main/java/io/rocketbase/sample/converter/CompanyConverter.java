@@ -6,6 +6,9 @@ import io.rocketbase.sample.dto.company.CompanyWrite;
 import io.rocketbase.sample.model.CompanyEntity;
 import org.mapstruct.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Mapper(config = CentralConfig.class)
 public interface CompanyConverter extends EntityReadWriteConverter<CompanyEntity, CompanyRead, CompanyWrite> {
 
@@ -13,9 +16,19 @@ public interface CompanyConverter extends EntityReadWriteConverter<CompanyEntity
 
     @Mappings({
             @Mapping(target = "id", ignore = true),
+            @Mapping(target = "version", ignore = true),
     })
     CompanyEntity newEntity(CompanyWrite workspace);
 
     @InheritConfiguration()
     CompanyEntity updateEntityFromEdit(CompanyWrite write, @MappingTarget CompanyEntity entity);
+
+    @Override
+    default Map<String, Object> describeUpdate(CompanyWrite write) {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("name", write.getName());
+        changes.put("email", write.getEmail());
+        changes.put("url", write.getUrl());
+        return changes;
+    }
 }
@@ -1,22 +1,55 @@
 package io.rocketbase.sample.converter;
 
 import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.converter.ReferenceLoader;
 import io.rocketbase.sample.dto.employee.EmployeeRead;
 import io.rocketbase.sample.dto.employee.EmployeeWrite;
+import io.rocketbase.sample.model.CompanyEntity;
 import io.rocketbase.sample.model.EmployeeEntity;
+import io.rocketbase.sample.repository.mongo.CompanyRepository;
 import org.mapstruct.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+
+import java.util.List;
 
 @Mapper(config = CentralConfig.class)
-public interface EmployeeConverter extends EntityReadWriteConverter<EmployeeEntity, EmployeeRead, EmployeeWrite> {
+public abstract class EmployeeConverter implements EntityReadWriteConverter<EmployeeEntity, EmployeeRead, EmployeeWrite> {
+
+    @Autowired
+    protected CompanyRepository companyRepository;
 
-    EmployeeRead fromEntity(EmployeeEntity entity);
+    public abstract EmployeeRead fromEntity(EmployeeEntity entity);
 
     @Mappings({
             @Mapping(target = "id", ignore = true),
             @Mapping(target = "company", ignore = true),
     })
-    EmployeeEntity newEntity(EmployeeWrite workspace);
+    public abstract EmployeeEntity newEntity(EmployeeWrite workspace);
 
     @InheritConfiguration()
-    EmployeeEntity updateEntityFromEdit(EmployeeWrite write, @MappingTarget EmployeeEntity entity);
+    public abstract EmployeeEntity updateEntityFromEdit(EmployeeWrite write, @MappingTarget EmployeeEntity entity);
+
+    /**
+     * replaces the lazy company references of all employees with companies loaded by one query
+     */
+    @Override
+    public void prepare(List<EmployeeEntity> entities) {
+        ReferenceLoader.load(entities,
+                EmployeeConverter::getCompanyId,
+                companyRepository::findAllById,
+                CompanyEntity::getId,
+                EmployeeEntity::setCompany);
+    }
+
+    /**
+     * reads the id of a lazy reference from its DBRef without resolving it
+     */
+    private static String getCompanyId(EmployeeEntity entity) {
+        Object company = entity.getCompany();
+        if (company instanceof LazyLoadingProxy) {
+            return String.valueOf(((LazyLoadingProxy) company).toDBRef().getId());
+        }
+        return company != null ? ((CompanyEntity) company).getId() : null;
+    }
 }
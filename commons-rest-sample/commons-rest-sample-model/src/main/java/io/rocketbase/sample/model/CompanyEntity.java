@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
@@ -24,4 +25,7 @@ public class CompanyEntity implements Serializable {
     private String email;
 
     private String url;
+
+    @Version
+    private Long version;
 }
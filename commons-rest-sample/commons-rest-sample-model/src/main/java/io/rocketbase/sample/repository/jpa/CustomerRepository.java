@@ -2,9 +2,21 @@ package io.rocketbase.sample.repository.jpa;
 
 import io.rocketbase.sample.model.CustomerEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerEntity, Long> {
 
+    /**
+     * single statement delete
+     *
+     * @return count of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from CustomerEntity c where c.id = ?1")
+    int removeById(Long id);
 }
@@ -1,10 +1,19 @@
 package io.rocketbase.sample;
 
+import io.rocketbase.commons.cache.CachingEntityReadWriteConverter;
+import io.rocketbase.commons.cache.ParentExistenceCache;
+import io.rocketbase.sample.converter.CompanyConverter;
+import io.rocketbase.sample.dto.company.CompanyRead;
+import io.rocketbase.sample.dto.company.CompanyWrite;
+import io.rocketbase.sample.model.CompanyEntity;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.time.Duration;
+
 @SpringBootApplication
 @EnableMongoRepositories(basePackages = "io.rocketbase.sample.repository.mongo")
 @EnableJpaRepositories(basePackages = "io.rocketbase.sample.repository.jpa")
@@ -13,4 +22,20 @@ public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
     }
+
+    /**
+     * companies resolved by the employee controller - invalidated by the company controller
+     */
+    @Bean
+    public ParentExistenceCache<String, CompanyEntity> companyCache() {
+        return new ParentExistenceCache<>(1000, Duration.ofMinutes(5), Duration.ofSeconds(10));
+    }
+
+    /**
+     * company reads cached by id + @Version - used by the company controller
+     */
+    @Bean
+    public CachingEntityReadWriteConverter<CompanyEntity, CompanyRead, CompanyWrite> cachingCompanyConverter(CompanyConverter companyConverter) {
+        return new CachingEntityReadWriteConverter<>(companyConverter, false, 1000, Duration.ofMinutes(10));
+    }
 }
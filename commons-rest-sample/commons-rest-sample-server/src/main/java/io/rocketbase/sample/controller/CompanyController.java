@@ -1,7 +1,12 @@
 package io.rocketbase.sample.controller;
 
+import io.rocketbase.commons.batch.MongoBatchSupport;
+import io.rocketbase.commons.cache.CachingEntityReadWriteConverter;
+import io.rocketbase.commons.cache.ParentExistenceCache;
 import io.rocketbase.commons.controller.AbstractCrudController;
-import io.rocketbase.sample.converter.CompanyConverter;
+import io.rocketbase.commons.exception.NotFoundException;
+import io.rocketbase.commons.patch.MongoPatchSupport;
+import io.rocketbase.commons.write.MongoWriteSupport;
 import io.rocketbase.sample.dto.company.CompanyRead;
 import io.rocketbase.sample.dto.company.CompanyWrite;
 import io.rocketbase.sample.model.CompanyEntity;
@@ -9,18 +14,29 @@ import io.rocketbase.sample.repository.mongo.CompanyRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 
 @Slf4j
 @RestController
 @RequestMapping("/api/company")
-public class CompanyController extends AbstractCrudController<CompanyEntity, CompanyRead, CompanyWrite, String, CompanyConverter> {
+public class CompanyController extends AbstractCrudController<CompanyEntity, CompanyRead, CompanyWrite, String, CachingEntityReadWriteConverter<CompanyEntity, CompanyRead, CompanyWrite>> {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ParentExistenceCache<String, CompanyEntity> companyCache;
 
     @Autowired
-    public CompanyController(CompanyRepository repository, CompanyConverter converter) {
+    public CompanyController(CompanyRepository repository, CachingEntityReadWriteConverter<CompanyEntity, CompanyRead, CompanyWrite> converter, MongoTemplate mongoTemplate, ParentExistenceCache<String, CompanyEntity> companyCache) {
         super(repository, converter);
+        this.mongoTemplate = mongoTemplate;
+        this.companyCache = companyCache;
     }
 
     @Override
@@ -33,4 +49,43 @@ public class CompanyController extends AbstractCrudController<CompanyEntity, Com
         return Sort.by("id");
     }
 
+    @Override
+    protected CompanyEntity updateEntity(String id, CompanyWrite write) {
+        Map<String, Object> changes = getConverter().describeUpdate(write);
+        if (changes == null) {
+            // converter doesn't describe its updates - load and save
+            return super.updateEntity(id, write);
+        }
+        return MongoWriteSupport.updateById(mongoTemplate, CompanyEntity.class, id, changes);
+    }
+
+    @Override
+    protected void deleteEntity(String id) {
+        if (!MongoWriteSupport.deleteById(mongoTemplate, CompanyEntity.class, id)) {
+            throw new NotFoundException();
+        }
+    }
+
+    @Override
+    protected void afterUpdate(CompanyEntity entity) {
+        super.afterUpdate(entity);
+        companyCache.invalidate(entity.getId());
+    }
+
+    @Override
+    protected void afterDelete(String id) {
+        super.afterDelete(id);
+        companyCache.invalidate(id);
+    }
+
+    @Override
+    protected CompanyEntity savePatch(CompanyEntity entity, Set<String> properties) {
+        return MongoPatchSupport.update(mongoTemplate, entity, properties);
+    }
+
+    @Override
+    protected List<CompanyEntity> saveBatchChunk(List<CompanyEntity> entities) {
+        return MongoBatchSupport.saveAll(mongoTemplate, entities);
+    }
+
 }
@@ -1,6 +1,8 @@
 package io.rocketbase.sample.controller;
 
 import io.rocketbase.commons.controller.AbstractCrudObfuscatedController;
+import io.rocketbase.commons.exception.NotFoundException;
+import io.rocketbase.commons.obfuscated.ObfuscatedId;
 import io.rocketbase.sample.converter.CustomerConverter;
 import io.rocketbase.sample.dto.customer.CustomerRead;
 import io.rocketbase.sample.dto.customer.CustomerWrite;
@@ -33,4 +35,11 @@ public class CustomerController extends AbstractCrudObfuscatedController<Custome
         return Sort.by("id");
     }
 
+    @Override
+    protected void deleteEntity(ObfuscatedId id) {
+        if (getRepository().removeById(id.getId()) == 0) {
+            throw new NotFoundException();
+        }
+    }
+
 }
@@ -1,5 +1,6 @@
 package io.rocketbase.sample.controller;
 
+import io.rocketbase.commons.cache.ParentExistenceCache;
 import io.rocketbase.commons.controller.AbstractCrudChildController;
 import io.rocketbase.sample.converter.EmployeeConverter;
 import io.rocketbase.sample.dto.employee.EmployeeRead;
@@ -27,6 +28,9 @@ public class EmployeeController extends AbstractCrudChildController<EmployeeEnti
     @Resource
     private CompanyRepository companyRepository;
 
+    @Resource
+    private ParentExistenceCache<String, CompanyEntity> companyCache;
+
     @Autowired
     public EmployeeController(EmployeeRepository repository, EmployeeConverter converter) {
         super(repository, converter);
@@ -45,8 +49,7 @@ public class EmployeeController extends AbstractCrudChildController<EmployeeEnti
 
     @Override
     protected EmployeeEntity newEntity(String parentId, EmployeeWrite employeeWrite) {
-        CompanyEntity companyEntity = companyRepository.findById(parentId)
-                .orElseThrow(() -> new NotFoundException());
+        CompanyEntity companyEntity = resolveParent(parentId, companyCache, companyRepository::findById);
 
         EmployeeEntity employeeEntity = getConverter().newEntity(employeeWrite);
         employeeEntity.setCompany(companyEntity);
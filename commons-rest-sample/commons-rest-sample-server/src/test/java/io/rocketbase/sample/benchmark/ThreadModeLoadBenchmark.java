@@ -0,0 +1,110 @@
+package io.rocketbase.sample.benchmark;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * load generator to compare the sample server with platform and virtual threads<br>
+ * start the server on jdk 21 twice, with --virtualThreads.enabled=true and false (and --logging.level.io.rocketbase=info), then run<br>
+ * ThreadModeLoadBenchmark [baseUrl] [concurrency] [seconds] [serverPid]<br>
+ * prints throughput, latency and - when the pid is given on linux - resident memory and thread count of the server
+ */
+public class ThreadModeLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String pid = args.length > 3 ? args[3] : null;
+
+        URL url = new URL(baseUrl + "/api/company?pageSize=10");
+        // warm up jit and connection handling
+        run(url, Math.min(concurrency, 20), 5);
+        Result result = run(url, concurrency, seconds);
+
+        System.out.printf("concurrency %d, %d s: %d requests, %d errors, %.1f req/s%n",
+                concurrency, seconds, result.requests, result.errors, result.requests / (double) seconds);
+        System.out.printf("latency ms p50 %.1f, p99 %.1f, max %.1f%n",
+                result.percentile(0.5), result.percentile(0.99), result.percentile(1.0));
+        if (pid != null) {
+            for (String line : Files.readAllLines(Paths.get("/proc", pid, "status"))) {
+                if (line.startsWith("VmRSS") || line.startsWith("Threads")) {
+                    System.out.println("server " + line.replaceAll("\\s+", " "));
+                }
+            }
+        }
+    }
+
+    private static Result run(URL url, int concurrency, int seconds) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        LongAdder errors = new LongAdder();
+        AtomicLong requests = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            long[] own = new long[1 << 16];
+            latencies.add(own);
+            clients.execute(() -> {
+                int count = 0;
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    if (!request(url)) {
+                        errors.increment();
+                    }
+                    own[count++ % own.length] = System.nanoTime() - start;
+                }
+                requests.addAndGet(count);
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return new Result(requests.get(), errors.sum(), latencies);
+    }
+
+    private static boolean request(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestProperty("Accept", "application/json");
+            try (InputStream body = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                byte[] buffer = new byte[8192];
+                while (body != null && body.read(buffer) >= 0) {
+                    // drain to reuse the keep-alive connection
+                }
+            }
+            return connection.getResponseCode() < 400;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static class Result {
+        private final long requests;
+        private final long errors;
+        private final long[] sorted;
+
+        Result(long requests, long errors, List<long[]> latencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.sorted = latencies.stream().flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+        }
+
+        double percentile(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
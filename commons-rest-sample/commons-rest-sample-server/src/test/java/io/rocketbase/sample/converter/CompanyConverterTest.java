@@ -0,0 +1,50 @@
+package io.rocketbase.sample.converter;
+
+import io.rocketbase.sample.dto.company.CompanyWrite;
+import io.rocketbase.sample.model.CompanyEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class CompanyConverterTest {
+
+    private final CompanyConverter converter = new CompanyConverterImpl();
+
+    /**
+     * describeUpdate is used for the single round trip update and has to cover all properties of updateEntityFromEdit
+     */
+    @Test
+    public void describeUpdateMatchesUpdateEntityFromEdit() {
+        // given
+        CompanyWrite write = new CompanyWrite("rocketbase", "info@rocketbase.io", "https://www.rocketbase.io");
+        CompanyEntity before = new CompanyEntity("1", "old", "old@rocketbase.io", "https://old.rocketbase.io", 1L);
+
+        // when
+        CompanyEntity updated = converter.updateEntityFromEdit(write, new CompanyEntity("1", "old", "old@rocketbase.io", "https://old.rocketbase.io", 1L));
+        Map<String, Object> described = converter.describeUpdate(write);
+
+        // then
+        assertThat(described, equalTo(changedProperties(before, updated)));
+    }
+
+    private static Map<String, Object> changedProperties(Object before, Object after) {
+        BeanWrapper beforeWrapper = new BeanWrapperImpl(before);
+        BeanWrapper afterWrapper = new BeanWrapperImpl(after);
+        Map<String, Object> changes = new HashMap<>();
+        for (PropertyDescriptor descriptor : afterWrapper.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            if (afterWrapper.isReadableProperty(name) && !Objects.equals(beforeWrapper.getPropertyValue(name), afterWrapper.getPropertyValue(name))) {
+                changes.put(name, afterWrapper.getPropertyValue(name));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,48 @@
+package io.rocketbase.commons.converter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * reads chunks of entities from the source on demand and converts each chunk via {@link EntityReadWriteConverter#fromEntities(List)}<br>
+ * so that prepare, parallel conversion and caching decorators still work on lazy sources
+ */
+class ChunkedConvertingIterator<Entity, Read> implements Iterator<Read> {
+
+    private final Iterator<Entity> source;
+
+    private final EntityReadWriteConverter<Entity, Read, ?> converter;
+
+    private final int chunkSize;
+
+    private Iterator<Read> converted = Collections.emptyIterator();
+
+    ChunkedConvertingIterator(Iterator<Entity> source, EntityReadWriteConverter<Entity, Read, ?> converter, int chunkSize) {
+        this.source = source;
+        this.converter = converter;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!converted.hasNext() && source.hasNext()) {
+            List<Entity> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && source.hasNext()) {
+                chunk.add(source.next());
+            }
+            converted = converter.fromEntities(chunk).iterator();
+        }
+        return converted.hasNext();
+    }
+
+    @Override
+    public Read next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return converted.next();
+    }
+}
@@ -0,0 +1,34 @@
+package io.rocketbase.commons.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * entity together with its {@link EntityJsonWriter} - gets serialized by the writer
+ *
+ * @param <Entity> database entity
+ */
+@Getter
+@RequiredArgsConstructor
+public class EntityJson<Entity> implements JsonSerializable {
+
+    private final Entity entity;
+
+    private final EntityJsonWriter<Entity> writer;
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        writer.write(entity, generator, serializers);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(generator, serializers);
+    }
+}
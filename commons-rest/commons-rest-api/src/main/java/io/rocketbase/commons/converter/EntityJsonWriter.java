@@ -0,0 +1,23 @@
+package io.rocketbase.commons.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * writes an entity straight into a {@link JsonGenerator} with the same json structure as its Read object<br>
+ * allows list and detail responses without allocating the Read objects - see {@link EntityReadWriteConverter#getJsonWriter()}
+ *
+ * @param <Entity> database entity
+ */
+@FunctionalInterface
+public interface EntityJsonWriter<Entity> {
+
+    /**
+     * @param entity      entity to write - never null
+     * @param generator   target of the json object
+     * @param serializers can be used to write nested values with their default serializer
+     */
+    void write(Entity entity, JsonGenerator generator, SerializerProvider serializers) throws IOException;
+}
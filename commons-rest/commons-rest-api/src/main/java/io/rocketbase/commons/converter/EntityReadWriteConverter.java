@@ -1,7 +1,13 @@
 package io.rocketbase.commons.converter;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * interface that handles converting between Entity, Read and Write
@@ -20,6 +26,35 @@ public interface EntityReadWriteConverter<Entity, Read, Write> {
      */
     Read fromEntity(Entity entity);
 
+    /**
+     * called once before a list of entities gets converted one by one<br>
+     * allows to load referenced data of all entities with a single query instead of one per entity (see {@link ReferenceLoader})
+     *
+     * @param entities entities that will get converted
+     */
+    default void prepare(List<Entity> entities) {
+    }
+
+    /**
+     * opt-in parallel conversion within {@link #fromEntities(List)} for expensive converters - by default disabled<br>
+     * return a constant instance, for example new ParallelConversion(64, Duration.ofMillis(5))
+     *
+     * @return null or thresholds and pool for parallel conversion
+     */
+    default ParallelConversion getParallelConversion() {
+        return null;
+    }
+
+    /**
+     * opt-in writer for the json of a Read without creating it - by default disabled<br>
+     * used by the serialization of ConvertingPageableResult and by getById of the CRUD controllers, the json must match the structure of Read
+     *
+     * @return null or writer that is used instead of fromEntity + serialization
+     */
+    default EntityJsonWriter<Entity> getJsonWriter() {
+        return null;
+    }
+
     /**
      * convert list of entities to list of ReadDtos
      *
@@ -30,11 +65,52 @@ public interface EntityReadWriteConverter<Entity, Read, Write> {
         if (entities == null) {
             return null;
         }
+        prepare(entities);
+        ParallelConversion parallelConversion = getParallelConversion();
+        if (parallelConversion != null) {
+            return parallelConversion.convert(entities, this::fromEntity);
+        }
         return entities.stream()
                 .map(e -> fromEntity(e))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * lazy conversion of a stream (for example a repository cursor) - entities are read and converted in chunks of {@link #getStreamChunkSize()} via {@link #fromEntities(List)}<br>
+     * closing the returned stream closes the source
+     *
+     * @param entities stream of entities
+     * @return stream of converted entities in the same order
+     */
+    default Stream<Read> fromEntities(Stream<Entity> entities) {
+        if (entities == null) {
+            return null;
+        }
+        Iterator<Read> iterator = new ChunkedConvertingIterator<>(entities.iterator(), this, getStreamChunkSize());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(entities::close);
+    }
+
+    /**
+     * lazy conversion of an iterable - each iteration reads and converts the entities in chunks of {@link #getStreamChunkSize()} via {@link #fromEntities(List)}
+     *
+     * @param entities iterable of entities
+     * @return iterable of converted entities in the same order
+     */
+    default Iterable<Read> fromEntities(Iterable<Entity> entities) {
+        if (entities == null) {
+            return null;
+        }
+        return () -> new ChunkedConvertingIterator<>(entities.iterator(), this, getStreamChunkSize());
+    }
+
+    /**
+     * @return count of entities that lazy conversions read and prepare at once
+     */
+    default int getStreamChunkSize() {
+        return 100;
+    }
+
     /**
      * create new entity by given write
      *
@@ -51,4 +127,15 @@ public interface EntityReadWriteConverter<Entity, Read, Write> {
      * @return updated entity
      */
     Entity updateEntityFromEdit(Write write, Entity entity);
+
+    /**
+     * describes the changes of {@link #updateEntityFromEdit(Object, Object)} as property names of the entity with their new values<br>
+     * allows targeted updates without loading the entity first
+     *
+     * @param write values to map to entity
+     * @return changed properties or null when not supported (default)
+     */
+    default Map<String, Object> describeUpdate(Write write) {
+        return null;
+    }
 }
@@ -0,0 +1,164 @@
+package io.rocketbase.commons.converter;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * converts lists in parallel on a dedicated {@link ForkJoinPool} while keeping their order - used by {@link EntityReadWriteConverter#fromEntities(List)}<br>
+ * the first entity is converted on the calling thread to measure the cost, only when size and estimated cost of the rest exceed the thresholds the others are converted in parallel<br>
+ * locale and request attributes of the calling thread are available within the workers<br>
+ * only detached or fully loaded entities are safe - lazy associations would access one session (e.g. of hibernate) from several threads.
+ * so the conversion stays sequential while a transaction or a session (open-session-in-view) is bound to the calling thread
+ */
+public class ParallelConversion {
+
+    private static final boolean TRANSACTION_PRESENT = ClassUtils.isPresent("org.springframework.transaction.support.TransactionSynchronizationManager",
+            ParallelConversion.class.getClassLoader());
+
+    private static volatile ForkJoinPool sharedPool;
+
+    private final ForkJoinPool pool;
+
+    private final int minSize;
+
+    private final long minCostNanos;
+
+    /**
+     * uses a pool shared by all converters with one thread per cpu
+     *
+     * @param minSize minimum count of entities for a parallel conversion
+     * @param minCost minimum estimated time of a sequential conversion
+     */
+    public ParallelConversion(int minSize, Duration minCost) {
+        this(getSharedPool(), minSize, minCost);
+    }
+
+    public ParallelConversion(ForkJoinPool pool, int minSize, Duration minCost) {
+        this.pool = pool;
+        this.minSize = minSize;
+        this.minCostNanos = minCost.toNanos();
+    }
+
+    /**
+     * @param entities  entities to convert
+     * @param converter conversion of a single entity
+     * @return converted entities in order of the input
+     */
+    public <Entity, Read> List<Read> convert(List<Entity> entities, Function<Entity, Read> converter) {
+        int size = entities.size();
+        if (size < Math.max(minSize, 2)) {
+            return convertSequential(entities, converter);
+        }
+        Object[] result = new Object[size];
+        long start = System.nanoTime();
+        result[0] = converter.apply(entities.get(0));
+        long estimatedCost = (System.nanoTime() - start) * (size - 1);
+        if (estimatedCost < minCostNanos || isSessionBound()) {
+            for (int i = 1; i < size; i++) {
+                result[i] = converter.apply(entities.get(i));
+            }
+        } else {
+            convertParallel(entities, converter, result);
+        }
+        return toList(result);
+    }
+
+    /**
+     * @return true when a transaction or resource (like the entity manager of open-session-in-view) is bound to the calling thread
+     */
+    protected boolean isSessionBound() {
+        return TRANSACTION_PRESENT && TransactionState.isBound();
+    }
+
+    private <Entity, Read> void convertParallel(List<Entity> entities, Function<Entity, Read> converter, Object[] result) {
+        int size = entities.size();
+        int chunks = Math.min(size - 1, pool.getParallelism() * 2);
+        int chunkSize = (size - 1 + chunks - 1) / chunks;
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int from = 1; from < size; from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + chunkSize, size);
+            tasks.add(() -> {
+                LocaleContext previousLocale = LocaleContextHolder.getLocaleContext();
+                RequestAttributes previousRequest = RequestContextHolder.getRequestAttributes();
+                LocaleContextHolder.setLocaleContext(localeContext);
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                try {
+                    for (int i = chunkStart; i < chunkEnd && failure.get() == null; i++) {
+                        result[i] = converter.apply(entities.get(i));
+                    }
+                } catch (RuntimeException | Error e) {
+                    // keep the original instance - the pool would rethrow a copy
+                    failure.compareAndSet(null, e);
+                } finally {
+                    LocaleContextHolder.setLocaleContext(previousLocale);
+                    RequestContextHolder.setRequestAttributes(previousRequest);
+                }
+                return null;
+            });
+        }
+        pool.invokeAll(tasks);
+        Throwable throwable = failure.get();
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+    }
+
+    private static <Entity, Read> List<Read> convertSequential(List<Entity> entities, Function<Entity, Read> converter) {
+        List<Read> result = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            result.add(converter.apply(entity));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Read> List<Read> toList(Object[] result) {
+        return new ArrayList<>((List<Read>) Arrays.asList(result));
+    }
+
+    private static ForkJoinPool getSharedPool() {
+        if (sharedPool == null) {
+            synchronized (ParallelConversion.class) {
+                if (sharedPool == null) {
+                    sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("commons-convert-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                }
+            }
+        }
+        return sharedPool;
+    }
+
+    /**
+     * separate class in order to load spring-tx only when present
+     */
+    private static class TransactionState {
+
+        private static boolean isBound() {
+            return TransactionSynchronizationManager.isSynchronizationActive() || !TransactionSynchronizationManager.getResourceMap().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.rocketbase.commons.converter;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * helper for {@link EntityReadWriteConverter#prepare(List)} that resolves references of many entities with one query
+ */
+public final class ReferenceLoader {
+
+    /**
+     * collects the distinct reference ids of all entities, loads them at once and hands each loaded reference to the setter<br>
+     * entities without reference id or with a missing reference are skipped
+     *
+     * @param entities    entities that will get converted
+     * @param referenceId extracts the id of the reference - should not resolve lazy references
+     * @param loader      loads all references by id - for example repository::findAllById
+     * @param idOf        id of a loaded reference
+     * @param setter      stores the loaded reference on the entity
+     */
+    public static <Entity, Reference, K> void load(List<Entity> entities,
+                                                  Function<Entity, K> referenceId,
+                                                  Function<Collection<K>, Iterable<Reference>> loader,
+                                                  Function<Reference, K> idOf,
+                                                  BiConsumer<Entity, Reference> setter) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        Set<K> ids = new LinkedHashSet<>();
+        for (Entity entity : entities) {
+            K id = referenceId.apply(entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<K, Reference> references = new HashMap<>();
+        for (Reference reference : loader.apply(ids)) {
+            references.put(idOf.apply(reference), reference);
+        }
+        for (Entity entity : entities) {
+            K id = referenceId.apply(entity);
+            Reference reference = id != null ? references.get(id) : null;
+            if (reference != null) {
+                setter.accept(entity, reference);
+            }
+        }
+    }
+}
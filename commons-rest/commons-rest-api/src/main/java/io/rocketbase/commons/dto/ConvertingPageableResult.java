@@ -0,0 +1,64 @@
+package io.rocketbase.commons.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * {@link PageableResult} that holds the entities of a page together with their converter<br>
+ * during serialization each entity gets converted and written one by one, so the converted content list is never held in memory as a whole<br>
+ * calling {@link #getContent()} converts all entities at once and keeps the result (needed for toString, equals etc.)
+ *
+ * @param <Entity> database entity
+ * @param <E>      response data object
+ */
+@JsonSerialize(using = ConvertingPageableResultSerializer.class)
+public class ConvertingPageableResult<Entity, E> extends PageableResult<E> {
+
+    private final transient List<Entity> entities;
+
+    private final transient EntityReadWriteConverter<Entity, E, ?> converter;
+
+    public ConvertingPageableResult(List<Entity> entities, EntityReadWriteConverter<Entity, E, ?> converter) {
+        this.entities = entities;
+        this.converter = converter;
+    }
+
+    public static <Entity, E> ConvertingPageableResult<Entity, E> of(Page<Entity> page, EntityReadWriteConverter<Entity, E, ?> converter) {
+        ConvertingPageableResult<Entity, E> result = new ConvertingPageableResult<>(page.getContent(), converter);
+        result.setTotalPages(page.getTotalPages());
+        result.setTotalElements(page.getTotalElements());
+        result.setPage(page.getNumber());
+        result.setPageSize(page.getSize());
+        return result;
+    }
+
+    @JsonIgnore
+    public List<Entity> getEntities() {
+        return entities;
+    }
+
+    @JsonIgnore
+    public EntityReadWriteConverter<Entity, E, ?> getConverter() {
+        return converter;
+    }
+
+    /**
+     * @return true when the content has been converted already
+     */
+    @JsonIgnore
+    public boolean isMaterialized() {
+        return super.getContent() != null || entities == null;
+    }
+
+    @Override
+    public List<E> getContent() {
+        if (!isMaterialized()) {
+            setContent(converter.fromEntities(entities));
+        }
+        return super.getContent();
+    }
+}
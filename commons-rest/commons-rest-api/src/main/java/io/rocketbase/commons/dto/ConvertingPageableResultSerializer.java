@@ -0,0 +1,60 @@
+package io.rocketbase.commons.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.rocketbase.commons.converter.EntityJsonWriter;
+
+import java.io.IOException;
+
+/**
+ * writes a {@link ConvertingPageableResult} with the same structure as a {@link PageableResult}<br>
+ * content gets converted element by element straight into the {@link JsonGenerator}, so each converted object is garbage right after it has been written<br>
+ * when the converter offers an {@link EntityJsonWriter} the entities are written without creating Read objects at all
+ */
+public class ConvertingPageableResultSerializer extends JsonSerializer<ConvertingPageableResult<?, ?>> {
+
+    @Override
+    public void serialize(ConvertingPageableResult<?, ?> value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
+        jsonGenerator.writeStartObject(value);
+        jsonGenerator.writeNumberField(fieldName(serializers, "totalElements"), value.getTotalElements());
+        jsonGenerator.writeNumberField(fieldName(serializers, "totalPages"), value.getTotalPages());
+        jsonGenerator.writeNumberField(fieldName(serializers, "page"), value.getPage());
+        jsonGenerator.writeNumberField(fieldName(serializers, "pageSize"), value.getPageSize());
+        jsonGenerator.writeFieldName(fieldName(serializers, "content"));
+        writeContent(value, jsonGenerator, serializers);
+        jsonGenerator.writeEndObject();
+    }
+
+    protected <Entity, E> void writeContent(ConvertingPageableResult<Entity, E> value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
+        if (value.isMaterialized()) {
+            serializers.defaultSerializeValue(value.getContent(), jsonGenerator);
+            return;
+        }
+        value.getConverter().prepare(value.getEntities());
+        EntityJsonWriter<Entity> jsonWriter = value.getConverter().getJsonWriter();
+        jsonGenerator.writeStartArray();
+        for (Entity entity : value.getEntities()) {
+            if (jsonWriter == null) {
+                serializers.defaultSerializeValue(value.getConverter().fromEntity(entity), jsonGenerator);
+            } else if (entity == null) {
+                jsonGenerator.writeNull();
+            } else {
+                jsonWriter.write(entity, jsonGenerator, serializers);
+            }
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    protected String fieldName(SerializerProvider serializers, String name) {
+        PropertyNamingStrategy namingStrategy = serializers.getConfig().getPropertyNamingStrategy();
+        return namingStrategy != null ? namingStrategy.nameForField(serializers.getConfig(), null, name) : name;
+    }
+
+    @Override
+    public void serializeWithType(ConvertingPageableResult<?, ?> value, JsonGenerator jsonGenerator, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(value, jsonGenerator, serializers);
+    }
+}
@@ -81,7 +81,8 @@ public class PageableResult<E> implements Iterable<E>, Serializable {
 
     @Override
     public Iterator<E> iterator() {
-        return content.iterator();
+        // via getter - subclasses like ConvertingPageableResult create the content lazily
+        return getContent().iterator();
     }
 
     @JsonIgnore
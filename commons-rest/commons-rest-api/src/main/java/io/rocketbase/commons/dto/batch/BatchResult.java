@@ -0,0 +1,54 @@
+package io.rocketbase.commons.dto.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * wrapping object for the per entry results of a batch request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "wrapping object for the per entry results of a batch request")
+public class BatchResult<Read> implements Serializable {
+
+    /**
+     * one item per entry of the request in the same order
+     */
+    @Schema(description = "one item per entry of the request in the same order")
+    private List<BatchResultItem<Read>> items = new ArrayList<>();
+
+    @JsonIgnore
+    public boolean hasErrors() {
+        return items.stream().anyMatch(item -> !item.isSuccess());
+    }
+
+    /**
+     * @return data of all successful items
+     */
+    @JsonIgnore
+    public List<Read> getSuccessData() {
+        return items.stream()
+                .filter(BatchResultItem::isSuccess)
+                .map(BatchResultItem::getData)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return all failed items
+     */
+    @JsonIgnore
+    public List<BatchResultItem<Read>> getFailures() {
+        return items.stream()
+                .filter(item -> !item.isSuccess())
+                .collect(Collectors.toList());
+    }
+}
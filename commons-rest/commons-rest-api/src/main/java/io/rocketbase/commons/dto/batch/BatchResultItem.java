@@ -0,0 +1,59 @@
+package io.rocketbase.commons.dto.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.rocketbase.commons.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * result of a single entry of a batch request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "result of a single entry of a batch request")
+public class BatchResultItem<Read> implements Serializable {
+
+    /**
+     * position of the entry within the request (starts by 0)
+     */
+    @Schema(description = "position of the entry within the request (starts by 0)")
+    private int index;
+
+    /**
+     * http status code of the single entry
+     */
+    @Schema(description = "http status code of the single entry", example = "201")
+    private int status;
+
+    /**
+     * stored entity - empty for deletes and errors
+     */
+    @Schema(description = "stored entity - empty for deletes and errors")
+    private Read data;
+
+    /**
+     * error details in case of status &gt;= 400
+     */
+    @Schema(description = "error details in case of status >= 400")
+    private ErrorResponse error;
+
+    public static <Read> BatchResultItem<Read> success(int index, int status, Read data) {
+        return new BatchResultItem<>(index, status, data, null);
+    }
+
+    public static <Read> BatchResultItem<Read> failure(int index, int status, ErrorResponse error) {
+        return new BatchResultItem<>(index, status, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return status < 400;
+    }
+}
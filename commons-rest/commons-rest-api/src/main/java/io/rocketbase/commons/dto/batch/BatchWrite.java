@@ -0,0 +1,30 @@
+package io.rocketbase.commons.dto.batch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * single entry of a batch update
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "single entry of a batch update")
+public class BatchWrite<ID, Write> implements Serializable {
+
+    /**
+     * identifier of the entity to update
+     */
+    @Schema(description = "identifier of the entity to update")
+    private ID id;
+
+    /**
+     * changeable properties of the entity
+     */
+    @Schema(description = "changeable properties of the entity")
+    private Write data;
+}
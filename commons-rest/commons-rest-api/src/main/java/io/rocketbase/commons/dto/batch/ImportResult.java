@@ -0,0 +1,38 @@
+package io.rocketbase.commons.dto.batch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * summary of a streaming import - contains only counts and the first failures so that its size doesn't grow with the import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "summary of a streaming import")
+public class ImportResult<Read> implements Serializable {
+
+    /**
+     * count of stored entries
+     */
+    @Schema(description = "count of stored entries")
+    private long created;
+
+    /**
+     * count of failed entries
+     */
+    @Schema(description = "count of failed entries")
+    private long failed;
+
+    /**
+     * failed items with index of the line - limited to the first failures
+     */
+    @Schema(description = "failed items with index of the line - limited to the first failures")
+    private List<BatchResultItem<Read>> failures = new ArrayList<>();
+}
@@ -0,0 +1,38 @@
+package io.rocketbase.commons.dto.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * change of an entity published by the CRUD controllers via server-sent events
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "change of an entity published via server-sent events")
+public class ChangeEvent<Read> implements Serializable {
+
+    /**
+     * increasing id of the event - could be used as Last-Event-ID to resume
+     */
+    @Schema(description = "increasing id of the event - could be used as Last-Event-ID to resume")
+    private long eventId;
+
+    private ChangeType type;
+
+    /**
+     * identifier of the changed entity - null for RESYNC
+     */
+    @Schema(description = "identifier of the changed entity - null for RESYNC")
+    private String id;
+
+    /**
+     * current state of the entity - null for DELETED and RESYNC
+     */
+    @Schema(description = "current state of the entity - null for DELETED and RESYNC")
+    private Read data;
+}
@@ -0,0 +1,18 @@
+package io.rocketbase.commons.dto.event;
+
+/**
+ * kind of a {@link ChangeEvent}
+ */
+public enum ChangeType {
+
+    CREATED,
+
+    UPDATED,
+
+    DELETED,
+
+    /**
+     * events since the given Last-Event-ID are not available anymore - the client should reload its data
+     */
+    RESYNC
+}
@@ -0,0 +1,33 @@
+package io.rocketbase.commons.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * thrown by validateKeyValues of EntityWithKeyValue - contains the violations of all invalid entries
+ */
+public class KeyValueValidationException extends IllegalStateException {
+
+    @Getter
+    private final List<Violation> violations;
+
+    public KeyValueValidationException(List<Violation> violations) {
+        super(violations.stream()
+                .map(v -> v.getKey() + ": " + v.getMessage())
+                .collect(Collectors.joining(", ", "Invalid keyValues - ", "")));
+        this.violations = Collections.unmodifiableList(violations);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Violation {
+
+        private final String key;
+
+        private final String message;
+    }
+}
@@ -0,0 +1,13 @@
+package io.rocketbase.commons.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * thrown by the interceptors of commons-rest when a request is rejected because of overload - gets answered with 503 for all controllers
+ */
+public class ServiceUnavailableException extends RejectedExecutionException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,14 @@
 package io.rocketbase.commons.model;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rocketbase.commons.exception.KeyValueValidationException;
 import lombok.SneakyThrows;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public interface EntityWithKeyValue<T> extends HasKeyValue {
 
@@ -47,12 +50,12 @@ public interface EntityWithKeyValue<T> extends HasKeyValue {
     /**
      * @param key    max length of 50 characters (Allowed key chars are a-Z, 0-9 and _-.#)<br>
      *               key with _ as prefix will not get displayed in REST_API
-     * @param values will get converted via ObjectMapper as json array
+     * @param values will get converted via the shared mapper of {@link KeyValueJson} as json array
      * @return itself for fluent api
      */
     @SneakyThrows
     default T addKeyValue(String key, Collection values) {
-        return addKeyValue(key, new ObjectMapper().writeValueAsString(values));
+        return addKeyValue(key, KeyValueJson.writer().writeValueAsString(values));
     }
 
     default void removeKeyValue(String key) {
@@ -71,21 +74,36 @@ public interface EntityWithKeyValue<T> extends HasKeyValue {
      */
     default void checkKeyValue(String key, String value) {
         Assert.hasText(key, "Key must not be empty");
-        Assert.state(key.length() <= 50, "Key is too long - at least 50 chars");
-        Assert.state(key.matches("[a-zA-Z0-9_\\-\\.\\#\\[\\]]+"), "Allowed key chars are a-Z, 0-9 and _-.#[]");
+        Assert.state(key.length() <= KeyValueValidation.MAX_KEY_LENGTH, "Key is too long - at least 50 chars");
+        Assert.state(KeyValueValidation.hasAllowedKeyChars(key), "Allowed key chars are a-Z, 0-9 and _-.#[]");
         if (value != null) {
-            Assert.state(value.length() <= 255, "Value is too long - at least 255 chars");
+            Assert.state(value.length() <= KeyValueValidation.MAX_VALUE_LENGTH, "Value is too long - at least 255 chars");
         }
     }
 
     /**
-     * validate all keyValues<br>
+     * validate all keyValues within one pass<br>
      * should be triggered before storing in database
+     *
+     * @throws KeyValueValidationException containing the violations of all invalid entries - also for empty keys
      */
     default void validateKeyValues() {
         if (getKeyValues() == null) {
             return;
         }
-        getKeyValues().forEach(this::checkKeyValue);
+        List<KeyValueValidationException.Violation> violations = null;
+        for (Map.Entry<String, String> entry : getKeyValues().entrySet()) {
+            try {
+                checkKeyValue(entry.getKey(), entry.getValue());
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                if (violations == null) {
+                    violations = new ArrayList<>();
+                }
+                violations.add(new KeyValueValidationException.Violation(entry.getKey(), e.getMessage()));
+            }
+        }
+        if (violations != null) {
+            throw new KeyValueValidationException(violations);
+        }
     }
 }
@@ -1,8 +1,6 @@
 package io.rocketbase.commons.model;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import javax.annotation.Nullable;
@@ -15,6 +13,15 @@ import java.util.Map;
 @Schema(description = "entity/dto has key value capability")
 public interface HasKeyValue {
 
+    TypeReference<Boolean> BOOLEAN_TYPE = new TypeReference<Boolean>() {
+    };
+
+    TypeReference<Long> LONG_TYPE = new TypeReference<Long>() {
+    };
+
+    TypeReference<Collection<String>> STRING_COLLECTION_TYPE = new TypeReference<Collection<String>>() {
+    };
+
     /**
      * @return the internal map - changes should only be done by add/remove KeyValue
      */
@@ -45,47 +52,66 @@ public interface HasKeyValue {
     }
 
     /**
-     * search for value of given key and parse json-string
+     * search for value of given key and parse json-string<br>
+     * uses the shared mapper of {@link KeyValueJson} and memoizes the result when {@link #keyValueCache()} is provided
      *
      * @param key       name of key
      * @param reference used by objectMapper
      * @param fallback  when key not found or not readable
      * @return value or fallback
      */
+    @SuppressWarnings("unchecked")
     default <T> T getKeyValue(String key, TypeReference<T> reference, T fallback) {
         String value = getKeyValue(key);
         if (value == null) {
             return fallback;
         }
-        try {
-            return new ObjectMapper().readValue(value, reference);
-        } catch (JsonProcessingException e) {
-            return fallback;
+        Map<Object, Object> cache = keyValueCache();
+        if (cache == null) {
+            return KeyValueJson.read(value, reference, fallback);
+        }
+        KeyValueJson.CacheKey cacheKey = new KeyValueJson.CacheKey(key, reference.getType());
+        Object cached = cache.get(cacheKey);
+        if (cached instanceof KeyValueJson.Parsed && ((KeyValueJson.Parsed) cached).source.equals(value)) {
+            return (T) ((KeyValueJson.Parsed) cached).value;
         }
+        T parsed = KeyValueJson.read(value, reference, fallback);
+        if (parsed != null && parsed != fallback) {
+            cache.put(cacheKey, new KeyValueJson.Parsed(value, parsed));
+        }
+        return parsed;
     }
 
     /**
-     * search for value of given key and parse json-string
+     * search for value of given key and parse json-string - true/false are read without json parser
      *
      * @param key      name of key
      * @param fallback when key not found or not readable
      * @return value or fallback
      */
     default Boolean getKeyValueBoolean(String key, Boolean fallback) {
-        return getKeyValue(key, new TypeReference<Boolean>() {
-        }, fallback);
+        String value = getKeyValue(key);
+        if (value == null) {
+            return fallback;
+        }
+        Boolean literal = KeyValueJson.parseBooleanLiteral(value);
+        return literal != null ? literal : getKeyValue(key, BOOLEAN_TYPE, fallback);
     }
 
     /**
-     * search for value of given key and parse json-string
+     * search for value of given key and parse json-string - plain integers are read without json parser
      *
      * @param key      name of key
      * @param fallback when key not found or not readable
      * @return value or fallback
      */
     default Long getKeyValueLong(String key, Long fallback) {
-        return getKeyValue(key, new TypeReference<Long>() {
-        }, fallback);
+        String value = getKeyValue(key);
+        if (value == null) {
+            return fallback;
+        }
+        Long literal = KeyValueJson.parseLongLiteral(value);
+        return literal != null ? literal : getKeyValue(key, LONG_TYPE, fallback);
     }
 
     /**
@@ -96,8 +122,18 @@ public interface HasKeyValue {
      * @return value or fallback
      */
     default Collection<String> getKeyValueCollection(String key, Collection<String> fallback) {
-        return getKeyValue(key, new TypeReference<Collection<String>>() {
-        }, fallback);
+        return getKeyValue(key, STRING_COLLECTION_TYPE, fallback);
+    }
+
+    /**
+     * opt-in memoization of parsed values by key and type - by default disabled<br>
+     * return a transient map held by the instance (for example a ConcurrentHashMap) that is not serialized or persisted<br>
+     * memoized values are shared between calls and must not get modified
+     *
+     * @return null or cache of parsed values
+     */
+    default Map<Object, Object> keyValueCache() {
+        return null;
     }
 
 }
@@ -0,0 +1,125 @@
+package io.rocketbase.commons.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * json handling of {@link HasKeyValue} and {@link EntityWithKeyValue}<br>
+ * holds one shared {@link ObjectMapper} with cached readers per type and a cached writer instead of creating a mapper per call
+ */
+public final class KeyValueJson {
+
+    private static volatile ObjectMapper objectMapper = new ObjectMapper();
+
+    private static volatile ObjectWriter writer = objectMapper.writer();
+
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private KeyValueJson() {
+    }
+
+    /**
+     * replaces the shared mapper - for example with the one of the application context
+     *
+     * @param mapper used for all further reads/writes of key values
+     */
+    public static void setObjectMapper(ObjectMapper mapper) {
+        Assert.notNull(mapper, "objectMapper must not be null");
+        objectMapper = mapper;
+        writer = mapper.writer();
+        READERS.clear();
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * @return cached reader for the type of the reference
+     */
+    public static ObjectReader reader(TypeReference<?> reference) {
+        return READERS.computeIfAbsent(reference.getType(), type -> objectMapper.readerFor(objectMapper.constructType(type)));
+    }
+
+    public static ObjectWriter writer() {
+        return writer;
+    }
+
+    /**
+     * @param value     json-string
+     * @param reference type to read
+     * @param fallback  returned when the value is not readable
+     * @return parsed value or fallback
+     */
+    static <T> T read(String value, TypeReference<T> reference, T fallback) {
+        try {
+            return reader(reference).readValue(value);
+        } catch (JsonProcessingException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * @return Boolean for the literals true/false - null for any other value
+     */
+    static Boolean parseBooleanLiteral(String value) {
+        String trimmed = value.trim();
+        if ("true".equals(trimmed)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equals(trimmed)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * parses plain json integers without the json parser
+     *
+     * @return Long or null when the value is no plain integer (for example decimals, leading zeros or more than 18 digits)
+     */
+    static Long parseLongLiteral(String value) {
+        String trimmed = value.trim();
+        int start = trimmed.startsWith("-") ? 1 : 0;
+        int digits = trimmed.length() - start;
+        if (digits < 1 || digits > 18 || (digits > 1 && trimmed.charAt(start) == '0')) {
+            return null;
+        }
+        for (int i = start; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        return Long.parseLong(trimmed);
+    }
+
+    /**
+     * key of a memoized value within {@link HasKeyValue#keyValueCache()}
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    static final class CacheKey {
+        private final String key;
+        private final Type type;
+    }
+
+    /**
+     * memoized value together with the json-string it has been parsed from
+     */
+    @RequiredArgsConstructor
+    static final class Parsed {
+        final String source;
+        final Object value;
+    }
+}
@@ -0,0 +1,46 @@
+package io.rocketbase.commons.model;
+
+/**
+ * validation helper of {@link EntityWithKeyValue}<br>
+ * checks the key chars within one pass against a lookup table instead of a regular expression
+ */
+public final class KeyValueValidation {
+
+    public static final int MAX_KEY_LENGTH = 50;
+
+    public static final int MAX_VALUE_LENGTH = 255;
+
+    private static final boolean[] ALLOWED_KEY_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ALLOWED_KEY_CHARS[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            ALLOWED_KEY_CHARS[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ALLOWED_KEY_CHARS[c] = true;
+        }
+        for (char c : "_-.#[]".toCharArray()) {
+            ALLOWED_KEY_CHARS[c] = true;
+        }
+    }
+
+    private KeyValueValidation() {
+    }
+
+    /**
+     * @param key not null
+     * @return true when all chars are a-Z, 0-9 or _-.#[]
+     */
+    public static boolean hasAllowedKeyChars(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= ALLOWED_KEY_CHARS.length || !ALLOWED_KEY_CHARS[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,28 +1,35 @@
 package io.rocketbase.commons.resource;
 
 import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.dto.batch.BatchResult;
 import io.rocketbase.commons.exception.NotFoundException;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.*;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpMessageConverterExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Optional;
 
 public abstract class AbstractBaseCrudRestResource<Read, Write> implements BaseRestResource {
 
+    public static final int DEFAULT_ETAG_CACHE_SIZE = 100;
+
     @Getter
     protected Class<Read> responseClass;
 
     @Setter
     private RestTemplate restTemplate;
 
+    private ETagResponseCache eTagResponseCache = new ETagResponseCache(DEFAULT_ETAG_CACHE_SIZE);
+
     public AbstractBaseCrudRestResource() {
         responseClass = (Class<Read>) ((ParameterizedType) getClass()
                 .getGenericSuperclass()).getActualTypeArguments()[0];
@@ -36,13 +43,18 @@ public abstract class AbstractBaseCrudRestResource<Read, Write> implements BaseR
         return restTemplate;
     }
 
+    /**
+     * find and getById send If-None-Match for responses with ETag and reuse the stored body in case of 304
+     *
+     * @param size maximum count of stored responses - 0 disables conditional requests
+     */
+    public void setETagCacheSize(int size) {
+        eTagResponseCache = size > 0 ? new ETagResponseCache(size) : null;
+    }
+
     @SneakyThrows
     protected PageableResult<Read> find(UriComponentsBuilder uriBuilder) {
-        ResponseEntity<PageableResult<Read>> response = getRestTemplate().exchange(uriBuilder.toUriString(),
-                HttpMethod.GET,
-                new HttpEntity<>(createHeaderWithLanguage()),
-                createPagedTypeReference());
-        return response.getBody();
+        return exchangeConditional(uriBuilder.toUriString(), createPagedTypeReference().getType());
     }
 
     /**
@@ -52,12 +64,8 @@ public abstract class AbstractBaseCrudRestResource<Read, Write> implements BaseR
     @SneakyThrows
     protected Optional<Read> getById(UriComponentsBuilder uriBuilder) {
         try {
-            ResponseEntity<Read> response = getRestTemplate().exchange(uriBuilder.toUriString(),
-                    HttpMethod.GET,
-                    new HttpEntity<>(createHeaderWithLanguage()),
-                    responseClass);
-
-            return Optional.of(response.getBody());
+            Read response = exchangeConditional(uriBuilder.toUriString(), responseClass);
+            return Optional.of(response);
         } catch (NotFoundException notFound) {
             return Optional.empty();
         }
@@ -87,6 +95,55 @@ public abstract class AbstractBaseCrudRestResource<Read, Write> implements BaseR
                 null, Void.class);
     }
 
+    /**
+     * @param uriBuilder complete uri of the batch endpoint
+     * @param method     POST, PUT or DELETE
+     * @param body       entries of the batch
+     * @return result per entry
+     */
+    protected BatchResult<Read> exchangeBatch(UriComponentsBuilder uriBuilder, HttpMethod method, Object body) {
+        ParameterizedTypeReference<BatchResult<Read>> responseType = ParameterizedTypeReference.forType(ResolvableType.forClassWithGenerics(BatchResult.class, responseClass).getType());
+        ResponseEntity<BatchResult<Read>> response = getRestTemplate().exchange(uriBuilder.toUriString(),
+                method,
+                new HttpEntity<>(body, createHeaderWithLanguage()),
+                responseType);
+        return response.getBody();
+    }
+
+    /**
+     * GET request that sends If-None-Match when a response of the uri is stored and replays it in case of 304
+     *
+     * @param uri          complete uri
+     * @param responseType type of response body
+     * @return response body
+     */
+    protected <T> T exchangeConditional(String uri, Type responseType) {
+        HttpHeaders headers = createHeaderWithLanguage();
+        ETagResponseCache cache = eTagResponseCache;
+        String cacheKey = uri + "|" + headers.getFirst(HttpHeaders.ACCEPT_LANGUAGE);
+        ETagResponseCache.Entry cached = cache != null ? cache.get(cacheKey) : null;
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getETag());
+        }
+
+        RestTemplate template = getRestTemplate();
+        HttpMessageConverterExtractor<T> extractor = new HttpMessageConverterExtractor<>(responseType, template.getMessageConverters());
+        return template.execute(uri, HttpMethod.GET, template.httpEntityCallback(new HttpEntity<>(headers), responseType), response -> {
+            if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                return extractor.extractData(cached.toResponse());
+            }
+            String eTag = response.getHeaders().getETag();
+            if (cache == null || eTag == null) {
+                return extractor.extractData(response);
+            }
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.putAll(response.getHeaders());
+            ETagResponseCache.Entry entry = new ETagResponseCache.Entry(eTag, responseHeaders, StreamUtils.copyToByteArray(response.getBody()));
+            cache.put(cacheKey, entry);
+            return extractor.extractData(entry.toResponse());
+        });
+    }
+
     protected HttpEntity<Write> createHttpEntity(Write write) {
         HttpEntity<Write> entity = new HttpEntity<>(write, createHeaderWithLanguage());
         return entity;
@@ -1,19 +1,40 @@
 package io.rocketbase.commons.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.dto.batch.BatchResult;
+import io.rocketbase.commons.dto.batch.BatchResultItem;
+import io.rocketbase.commons.dto.batch.BatchWrite;
+import io.rocketbase.commons.dto.event.ChangeEvent;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 
 @Slf4j
 public abstract class AbstractCrudRestResource<Read, Write, ID extends Serializable> extends AbstractBaseCrudRestResource<Read, Write> {
 
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * count of entries that are sent with a single batch request
+     */
+    @Setter
+    private int batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
+
     /**
      * will call paged find method, iterate through all results and execute the consumer on all data instances
      *
@@ -54,6 +75,59 @@ public abstract class AbstractCrudRestResource<Read, Write, ID extends Serializa
         delete(buildBaseUriBuilder().path(String.valueOf(id)));
     }
 
+    /**
+     * creates all entries with as many batch requests as needed
+     *
+     * @return result per entry - index refers to the position within writes
+     */
+    public BatchResult<Read> createBatch(List<Write> writes) {
+        return chunked(writes, chunk -> exchangeBatch(buildBaseUriBuilder().path("batch"), HttpMethod.POST, chunk));
+    }
+
+    /**
+     * updates all entries with as many batch requests as needed
+     *
+     * @return result per entry - index refers to the position within writes
+     */
+    public BatchResult<Read> updateBatch(List<BatchWrite<ID, Write>> writes) {
+        return chunked(writes, chunk -> exchangeBatch(buildBaseUriBuilder().path("batch"), HttpMethod.PUT, chunk));
+    }
+
+    /**
+     * deletes all ids with as many batch requests as needed
+     *
+     * @return result per entry - index refers to the position within ids
+     */
+    public BatchResult<Read> deleteBatch(List<ID> ids) {
+        return chunked(ids, chunk -> exchangeBatch(buildBaseUriBuilder().path("batch"), HttpMethod.DELETE, chunk));
+    }
+
+    /**
+     * loads all ids with as many lookup requests as needed - one query per request on server side
+     *
+     * @return result per id in the same order - missing ids are reported with status 404
+     */
+    public BatchResult<Read> getByIds(Collection<ID> ids) {
+        return chunked(new ArrayList<>(ids), chunk -> exchangeBatch(buildBaseUriBuilder().path("lookup"), HttpMethod.POST, chunk));
+    }
+
+    /**
+     * listens to the server-sent change events of the controller on an own thread until the listener gets closed
+     *
+     * @param lastEventId id of the last processed event to resume - null for only new events
+     * @param consumer    called for each event
+     * @return running listener
+     */
+    public ChangeEventListener<Read> listen(String lastEventId, Consumer<ChangeEvent<Read>> consumer) {
+        ObjectMapper objectMapper = getRestTemplate().getMessageConverters().stream()
+                .filter(converter -> converter instanceof MappingJackson2HttpMessageConverter)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseGet(() -> new ObjectMapper().findAndRegisterModules());
+        return new ChangeEventListener<>(getRestTemplate(), buildBaseUriBuilder().path("events").toUriString(), createHeaderWithLanguage(),
+                objectMapper, responseClass, lastEventId, Duration.ofSeconds(5), consumer);
+    }
+
     /**
      * @return full qualified url to the entity base url
      */
@@ -63,4 +137,16 @@ public abstract class AbstractCrudRestResource<Read, Write, ID extends Serializa
         return createUriComponentsBuilder(getBaseApiUrl());
     }
 
+    private <T> BatchResult<Read> chunked(List<T> entries, Function<List<T>, BatchResult<Read>> request) {
+        BatchResult<Read> result = new BatchResult<>();
+        for (int from = 0; from < entries.size(); from += batchChunkSize) {
+            BatchResult<Read> chunkResult = request.apply(entries.subList(from, Math.min(from + batchChunkSize, entries.size())));
+            for (BatchResultItem<Read> item : chunkResult.getItems()) {
+                item.setIndex(item.getIndex() + from);
+                result.getItems().add(item);
+            }
+        }
+        return result;
+    }
+
 }
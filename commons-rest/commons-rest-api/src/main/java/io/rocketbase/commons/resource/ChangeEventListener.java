@@ -0,0 +1,161 @@
+package io.rocketbase.commons.resource;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rocketbase.commons.dto.event.ChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * reads the server-sent change events of a CRUD controller on an own thread<br>
+ * reconnects after errors or closed connections and resumes with the id of the last received event
+ *
+ * @param <Read> response data object
+ */
+@Slf4j
+public class ChangeEventListener<Read> implements AutoCloseable {
+
+    private final RestTemplate restTemplate;
+
+    private final String uri;
+
+    private final HttpHeaders headers;
+
+    private final ObjectMapper objectMapper;
+
+    private final JavaType eventType;
+
+    private final Consumer<ChangeEvent<Read>> consumer;
+
+    private final Duration reconnectDelay;
+
+    private final Thread thread;
+
+    private volatile String lastEventId;
+
+    private volatile ClientHttpResponse response;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param restTemplate   should have no or a long read timeout
+     * @param uri            full uri of the events endpoint
+     * @param headers        additional headers like Accept-Language or authorization
+     * @param objectMapper   used to parse the event data
+     * @param responseClass  class of Read
+     * @param lastEventId    id to resume from - null for only new events
+     * @param reconnectDelay wait time before reconnecting
+     * @param consumer       called for each event on the listener thread
+     */
+    public ChangeEventListener(RestTemplate restTemplate, String uri, HttpHeaders headers, ObjectMapper objectMapper, Class<Read> responseClass,
+                               String lastEventId, Duration reconnectDelay, Consumer<ChangeEvent<Read>> consumer) {
+        this.restTemplate = restTemplate;
+        this.uri = uri;
+        this.headers = headers;
+        this.objectMapper = objectMapper;
+        this.eventType = objectMapper.getTypeFactory().constructParametricType(ChangeEvent.class, responseClass);
+        this.lastEventId = lastEventId;
+        this.reconnectDelay = reconnectDelay;
+        this.consumer = consumer;
+        this.thread = new Thread(this::run, "change-events-" + uri);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return id of the last received event - could be stored to resume after a restart
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * stops the listener - the open connection gets closed because a blocking read of the socket can't be interrupted
+     */
+    @Override
+    public void close() {
+        running = false;
+        ClientHttpResponse current = response;
+        if (current != null) {
+            current.close();
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                restTemplate.execute(uri, GET, request -> {
+                    request.getHeaders().addAll(headers);
+                    request.getHeaders().setAccept(Collections.singletonList(MediaType.TEXT_EVENT_STREAM));
+                    if (lastEventId != null) {
+                        request.getHeaders().set("Last-Event-ID", lastEventId);
+                    }
+                }, response -> {
+                    this.response = response;
+                    try {
+                        if (running) {
+                            read(new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8)));
+                        }
+                    } finally {
+                        this.response = null;
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.debug("change event stream {} failed: {}", uri, e.getMessage());
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void read(BufferedReader reader) throws IOException {
+        String id = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    dispatch(id, data.toString());
+                }
+                id = null;
+                data.setLength(0);
+            } else if (line.startsWith("id:")) {
+                id = line.substring(3).trim();
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line.substring(5).trim());
+            }
+        }
+    }
+
+    private void dispatch(String id, String data) throws IOException {
+        ChangeEvent<Read> event = objectMapper.readValue(data, eventType);
+        consumer.accept(event);
+        // only processed events count - a failing consumer gets the event again after the reconnect
+        if (id != null) {
+            lastEventId = id;
+        }
+    }
+}
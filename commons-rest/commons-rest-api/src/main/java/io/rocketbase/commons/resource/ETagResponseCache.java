@@ -0,0 +1,92 @@
+package io.rocketbase.commons.resource;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * bounded LRU cache of raw response bodies with ETag used for conditional GET requests<br>
+ * stores the raw bytes so that each cache hit gets deserialized into a fresh instance
+ */
+public class ETagResponseCache {
+
+    private final Map<String, Entry> entries;
+
+    public ETagResponseCache(int maxSize) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    public synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final String eTag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        /**
+         * @return response that replays the stored body with status 200
+         */
+        public ClientHttpResponse toResponse() {
+            return new CachedClientHttpResponse(headers, body);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedClientHttpResponse implements ClientHttpResponse {
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.rocketbase.commons.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class EntityReadWriteConverterTest {
+
+    @Test
+    void fromEntitiesStreamConvertsLazilyInChunks() {
+        // given
+        ChunkConverter converter = new ChunkConverter();
+        AtomicInteger read = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> entities = IntStream.range(0, 1000).boxed()
+                .peek(e -> read.incrementAndGet())
+                .onClose(() -> closed.set(true));
+
+        // when
+        List<String> result;
+        try (Stream<String> reads = converter.fromEntities(entities)) {
+            result = reads.limit(15).collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(result, equalTo(IntStream.range(0, 15).mapToObj(String::valueOf).collect(Collectors.toList())));
+        assertThat(read.get(), equalTo(20));
+        assertThat(converter.preparedChunks, equalTo(Arrays.asList(10, 10)));
+        assertThat(closed.get(), equalTo(true));
+    }
+
+    @Test
+    void fromEntitiesIterableConvertsEachIteration() {
+        // given
+        ChunkConverter converter = new ChunkConverter();
+
+        // when
+        Iterable<String> reads = converter.fromEntities((Iterable<Integer>) Arrays.asList(1, 2, 3));
+        List<String> first = new ArrayList<>();
+        reads.forEach(first::add);
+        List<String> second = new ArrayList<>();
+        reads.forEach(second::add);
+
+        // then
+        assertThat(first, equalTo(Arrays.asList("1", "2", "3")));
+        assertThat(second, equalTo(first));
+        assertThat(converter.preparedChunks, equalTo(Arrays.asList(3, 3)));
+    }
+
+    static class ChunkConverter implements EntityReadWriteConverter<Integer, String, String> {
+        private final List<Integer> preparedChunks = new ArrayList<>();
+
+        @Override
+        public String fromEntity(Integer entity) {
+            return String.valueOf(entity);
+        }
+
+        @Override
+        public void prepare(List<Integer> entities) {
+            preparedChunks.add(entities.size());
+        }
+
+        @Override
+        public int getStreamChunkSize() {
+            return 10;
+        }
+
+        @Override
+        public Integer newEntity(String write) {
+            return null;
+        }
+
+        @Override
+        public Integer updateEntityFromEdit(String write, Integer entity) {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.rocketbase.commons.converter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ParallelConversionTest {
+
+    @Test
+    void convertKeepsOrderAndLocale() {
+        // given
+        ParallelConversion conversion = new ParallelConversion(new ForkJoinPool(4), 10, Duration.ZERO);
+        List<Integer> entities = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+
+        // when
+        List<String> result;
+        try {
+            result = conversion.convert(entities, e -> {
+                threads.add(Thread.currentThread().getName());
+                return e + "-" + LocaleContextHolder.getLocale().getLanguage();
+            });
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+
+        // then
+        assertThat(result, equalTo(entities.stream().map(e -> e + "-de").collect(Collectors.toList())));
+        assertThat(threads.size(), greaterThan(1));
+    }
+
+    @Test
+    void convertSequentialBelowThresholds() {
+        // given
+        ParallelConversion bySize = new ParallelConversion(new ForkJoinPool(4), 100, Duration.ZERO);
+        ParallelConversion byCost = new ParallelConversion(new ForkJoinPool(4), 10, Duration.ofSeconds(10));
+        List<Integer> entities = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        bySize.convert(entities, e -> threads.add(Thread.currentThread().getName()));
+        List<Integer> result = byCost.convert(entities, e -> {
+            threads.add(Thread.currentThread().getName());
+            return e * 2;
+        });
+
+        // then
+        assertThat(threads, contains(Thread.currentThread().getName()));
+        assertThat(result.get(49), equalTo(98));
+    }
+
+    @Test
+    void convertSequentialWhileSessionBound() {
+        // given
+        ParallelConversion conversion = new ParallelConversion(new ForkJoinPool(4), 10, Duration.ZERO);
+        List<Integer> entities = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        try {
+            conversion.convert(entities, e -> threads.add(Thread.currentThread().getName()));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(threads, contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void convertPropagatesExceptions() {
+        // given
+        ParallelConversion conversion = new ParallelConversion(new ForkJoinPool(2), 2, Duration.ZERO);
+
+        // when
+        IllegalArgumentException exception = null;
+        try {
+            conversion.convert(Arrays.asList(1, 2, 3, 4), e -> {
+                if (e == 3) {
+                    throw new IllegalArgumentException("invalid " + e);
+                }
+                return e;
+            });
+        } catch (IllegalArgumentException e) {
+            exception = e;
+        }
+
+        // then
+        assertThat(exception, notNullValue());
+        assertThat(exception.getMessage(), equalTo("invalid 3"));
+    }
+}
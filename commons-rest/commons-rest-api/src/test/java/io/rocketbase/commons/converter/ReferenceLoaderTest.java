@@ -0,0 +1,78 @@
+package io.rocketbase.commons.converter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ReferenceLoaderTest {
+
+    @Test
+    void loadResolvesDistinctIdsWithOneQuery() {
+        // given
+        List<Employee> employees = Arrays.asList(new Employee("c1", null), new Employee("c2", null), new Employee("c1", null), new Employee(null, null), new Employee("c3", null));
+        AtomicInteger queries = new AtomicInteger();
+        List<Collection<String>> requestedIds = new ArrayList<>();
+
+        // when
+        ReferenceLoader.load(employees,
+                Employee::getCompanyId,
+                ids -> {
+                    queries.incrementAndGet();
+                    requestedIds.add(new ArrayList<>(ids));
+                    return ids.stream()
+                            .filter(id -> !id.equals("c3"))
+                            .map(id -> new Company(id, "name-" + id))
+                            .collect(Collectors.toList());
+                },
+                Company::getId,
+                Employee::setCompany);
+
+        // then
+        assertThat(queries.get(), equalTo(1));
+        assertThat(requestedIds.get(0), contains("c1", "c2", "c3"));
+        assertThat(employees.get(0).getCompany().getName(), equalTo("name-c1"));
+        assertThat(employees.get(2).getCompany(), sameInstance(employees.get(0).getCompany()));
+        assertThat(employees.get(3).getCompany(), nullValue());
+        assertThat(employees.get(4).getCompany(), nullValue());
+    }
+
+    @Test
+    void loadSkipsQueryWithoutIds() {
+        // given
+        AtomicInteger queries = new AtomicInteger();
+
+        // when
+        ReferenceLoader.load(Collections.singletonList(new Employee(null, null)),
+                Employee::getCompanyId,
+                ids -> {
+                    queries.incrementAndGet();
+                    return Collections.<Company>emptyList();
+                },
+                Company::getId,
+                Employee::setCompany);
+
+        // then
+        assertThat(queries.get(), equalTo(0));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Employee {
+        private String companyId;
+        private Company company;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Company {
+        private String id;
+        private String name;
+    }
+}
@@ -0,0 +1,122 @@
+package io.rocketbase.commons.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import io.rocketbase.commons.converter.EntityJsonWriter;
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ConvertingPageableResultSerializerTest {
+
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldSerializeSameAsPageableResult() throws Exception {
+        // given
+        SampleConverter converter = new SampleConverter();
+        PageImpl<Integer> page = new PageImpl<>(Arrays.asList(1, 2, 3), PageRequest.of(1, 3), 10);
+
+        // when
+        String expected = mapper.writeValueAsString(PageableResult.contentPage(converter.fromEntities(page.getContent()), page));
+        converter.counter.set(0);
+        String result = mapper.writeValueAsString(ConvertingPageableResult.of(page, converter));
+
+        // then
+        assertThat(result, equalTo(expected));
+        assertThat(converter.counter.get(), equalTo(3));
+    }
+
+    @Test
+    public void shouldSerializeMaterializedContentWithoutConvertingAgain() throws Exception {
+        // given
+        SampleConverter converter = new SampleConverter();
+        ConvertingPageableResult<Integer, String> result = ConvertingPageableResult.of(new PageImpl<>(Arrays.asList(1, 2), PageRequest.of(0, 2), 2), converter);
+
+        // when
+        assertThat(result.getContent(), equalTo(Arrays.asList("v1", "v2")));
+        String json = mapper.writeValueAsString(result);
+
+        // then
+        assertThat(json, equalTo("{\"totalElements\":2,\"totalPages\":1,\"page\":0,\"pageSize\":2,\"content\":[\"v1\",\"v2\"]}"));
+        assertThat(converter.counter.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldIterateOverConvertedContent() {
+        // given
+        ConvertingPageableResult<Integer, String> result = ConvertingPageableResult.of(new PageImpl<>(Arrays.asList(1, 2), PageRequest.of(0, 2), 2), new SampleConverter());
+
+        // when
+        List<String> iterated = new ArrayList<>();
+        for (String value : result) {
+            iterated.add(value);
+        }
+
+        // then
+        assertThat(iterated, equalTo(Arrays.asList("v1", "v2")));
+    }
+
+    @Test
+    public void shouldRespectNamingStrategy() throws Exception {
+        // given
+        ObjectMapper snakeCase = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+        // when
+        String result = snakeCase.writeValueAsString(ConvertingPageableResult.of(new PageImpl<>(Arrays.asList(1), PageRequest.of(0, 1), 1), new SampleConverter()));
+
+        // then
+        assertThat(result, equalTo("{\"total_elements\":1,\"total_pages\":1,\"page\":0,\"page_size\":1,\"content\":[\"v1\"]}"));
+    }
+
+    @Test
+    public void shouldUseJsonWriterInsteadOfConverting() throws Exception {
+        // given
+        SampleConverter converter = new SampleConverter() {
+            @Override
+            public EntityJsonWriter<Integer> getJsonWriter() {
+                return (entity, generator, serializers) -> generator.writeString("v" + entity);
+            }
+        };
+        PageImpl<Integer> page = new PageImpl<>(Arrays.asList(1, 2, 3), PageRequest.of(1, 3), 10);
+
+        // when
+        String expected = mapper.writeValueAsString(PageableResult.contentPage(converter.fromEntities(page.getContent()), page));
+        converter.counter.set(0);
+        String result = mapper.writeValueAsString(ConvertingPageableResult.of(page, converter));
+
+        // then
+        assertThat(result, equalTo(expected));
+        assertThat(converter.counter.get(), equalTo(0));
+    }
+
+    private static class SampleConverter implements EntityReadWriteConverter<Integer, String, String> {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public String fromEntity(Integer entity) {
+            counter.incrementAndGet();
+            return "v" + entity;
+        }
+
+        @Override
+        public Integer newEntity(String s) {
+            return Integer.valueOf(s);
+        }
+
+        @Override
+        public Integer updateEntityFromEdit(String s, Integer entity) {
+            return Integer.valueOf(s);
+        }
+    }
+}
@@ -4,12 +4,17 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import io.rocketbase.commons.exception.KeyValueValidationException;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class EntityWithKeyValueTest {
@@ -62,6 +67,34 @@ public class EntityWithKeyValueTest {
         });
     }
 
+    @Test
+    public void testValidateKeyValuesCollectsAllViolations() {
+        // given
+        SampleEntity entity = new SampleEntity();
+        entity.addKeyValue("k1", "Test");
+        entity.getKeyValues().put("k2 x", "Test");
+        entity.getKeyValues().put("k3", String.format("%0" + 256 + "d", 0));
+        entity.getKeyValues().put("", "Test");
+
+        // when
+        KeyValueValidationException exception = assertThrows(KeyValueValidationException.class, entity::validateKeyValues);
+
+        // then
+        assertThat(exception.getViolations().stream().map(KeyValueValidationException.Violation::getKey).collect(Collectors.toList()), containsInAnyOrder("k2 x", "k3", ""));
+        assertThat(exception.getViolations().stream().filter(v -> v.getKey().equals("k3")).findFirst().get().getMessage(), equalTo("Value is too long - at least 255 chars"));
+        assertThat(exception.getMessage(), containsString("k2 x: Allowed key chars are a-Z, 0-9 and _-.#[]"));
+        assertThat(exception.getMessage(), containsString("k3: Value is too long"));
+        assertThat(exception.getMessage(), not(containsString("k1")));
+    }
+
+    @Test
+    public void testHasAllowedKeyChars() {
+        assertThat(KeyValueValidation.hasAllowedKeyChars("aZ09_-.#[]"), equalTo(true));
+        assertThat(KeyValueValidation.hasAllowedKeyChars("a b"), equalTo(false));
+        assertThat(KeyValueValidation.hasAllowedKeyChars("ä"), equalTo(false));
+        assertThat(KeyValueValidation.hasAllowedKeyChars("a\u00ff\u2603"), equalTo(false));
+    }
+
     @Test
     public void testAddKeyValueLong() {
         SampleEntity entity = new SampleEntity();
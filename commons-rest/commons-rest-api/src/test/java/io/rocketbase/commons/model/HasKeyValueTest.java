@@ -7,11 +7,14 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class HasKeyValueTest {
 
@@ -88,4 +91,55 @@ public class HasKeyValueTest {
         assertThat(value.getKeyValueCollection("key2", null), nullValue());
         assertThat(value.getKeyValueCollection("key2", Arrays.asList("1")), equalTo(Arrays.asList("1")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getKeyValueLongFallsBackToJson() {
+        HasKeyValue value = buildSample("key1", "-42", "key2", "12.0");
+
+        assertThat(value.getKeyValueLong("key1", null), equalTo(-42L));
+        assertThat(value.getKeyValueLong("key2", null), equalTo(12L));
+        assertThat(KeyValueJson.parseLongLiteral("007"), nullValue());
+        assertThat(KeyValueJson.parseLongLiteral("99999999999999999999"), nullValue());
+    }
+
+    @Test
+    public void getKeyValueMemoized() {
+        // given
+        CachingSampleObject value = new CachingSampleObject();
+        value.getKeyValues().put("key1", "[\"abc\"]");
+
+        // when
+        Collection<String> first = value.getKeyValueCollection("key1", null);
+        Collection<String> second = value.getKeyValueCollection("key1", null);
+        value.getKeyValues().put("key1", "[\"xyz\"]");
+        Collection<String> changed = value.getKeyValueCollection("key1", null);
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(changed, equalTo(Arrays.asList("xyz")));
+        assertThat(value.keyValueCache().size(), equalTo(1));
+    }
+
+    @Test
+    public void readerIsCachedPerType() {
+        assertThat(KeyValueJson.reader(HasKeyValue.STRING_COLLECTION_TYPE), sameInstance(KeyValueJson.reader(new TypeReference<Collection<String>>() {
+        })));
+    }
+
+    @Getter
+    public static class CachingSampleObject implements HasKeyValue {
+        private final Map<String, String> keyValues = new HashMap<>();
+        private final transient Map<Object, Object> cache = new ConcurrentHashMap<>();
+
+        @Override
+        public void setKeyValues(Map<String, String> map) {
+            keyValues.clear();
+            keyValues.putAll(map);
+        }
+
+        @Override
+        public Map<Object, Object> keyValueCache() {
+            return cache;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package io.rocketbase.commons.resource;
 
 import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.dto.batch.BatchResult;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import static org.hamcrest.CoreMatchers.equalTo;
-import static org.hamcrest.CoreMatchers.notNullValue;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 public class AbstractCrudRestResourceTest {
 
@@ -24,6 +36,62 @@ public class AbstractCrudRestResourceTest {
         assertThat(builder.toUriString(), equalTo(TestWithoutSlashCrudRestResource.BASE_PARENT_API_URL + "/"));
     }
 
+    @Test
+    public void getByIdSendsIfNoneMatch() {
+        // given
+        TestWithoutSlashCrudRestResource resoure = new TestWithoutSlashCrudRestResource();
+        RestTemplate restTemplate = new RestTemplate();
+        resoure.setRestTemplate(restTemplate);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        String uri = TestWithoutSlashCrudRestResource.BASE_PARENT_API_URL + "/1";
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag("\"v1\"");
+        server.expect(requestTo(uri))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"abc\"}", MediaType.APPLICATION_JSON).headers(responseHeaders));
+        server.expect(requestTo(uri))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        // when
+        Optional<Object> first = resoure.getById("1");
+        Optional<Object> second = resoure.getById("1");
+
+        // then
+        server.verify();
+        assertThat(second.get(), equalTo(first.get()));
+        assertThat(second.get(), not(sameInstance(first.get())));
+    }
+
+    @Test
+    public void createBatchSendsChunks() {
+        // given
+        TestWithoutSlashCrudRestResource resoure = new TestWithoutSlashCrudRestResource();
+        RestTemplate restTemplate = new RestTemplate();
+        resoure.setRestTemplate(restTemplate);
+        resoure.setBatchChunkSize(2);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        String uri = TestWithoutSlashCrudRestResource.BASE_PARENT_API_URL + "/batch";
+        server.expect(requestTo(uri))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[\"a\",\"b\"]"))
+                .andRespond(withSuccess("{\"items\":[{\"index\":0,\"status\":201,\"data\":\"a\"},{\"index\":1,\"status\":400,\"error\":{\"status\":400}}]}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(uri))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[\"c\"]"))
+                .andRespond(withSuccess("{\"items\":[{\"index\":0,\"status\":201,\"data\":\"c\"}]}", MediaType.APPLICATION_JSON));
+
+        // when
+        BatchResult<Object> result = resoure.createBatch(Arrays.asList("a", "b", "c"));
+
+        // then
+        server.verify();
+        assertThat(result.getItems().size(), equalTo(3));
+        assertThat(result.getItems().get(2).getIndex(), equalTo(2));
+        assertThat(result.hasErrors(), equalTo(true));
+        assertThat(result.getSuccessData(), equalTo(Arrays.asList("a", "c")));
+    }
+
     private class TestWithoutSlashCrudRestResource extends AbstractCrudRestResource<Object, Object, String> {
 
         public static final String BASE_PARENT_API_URL = "https://localhost:8080/api/entity";
@@ -1,6 +1,7 @@
 package io.rocketbase.commons.controller;
 
 import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.ConvertingPageableResult;
 import io.rocketbase.commons.dto.PageableResult;
 import io.rocketbase.commons.obfuscated.ObfuscatedId;
 import lombok.AccessLevel;
@@ -40,7 +41,7 @@ public abstract class AbstractCrudChildObfuscatedController<Entity, Read, Write,
     @ResponseBody
     public PageableResult<Read> find(@PathVariable("parentId") ObfuscatedId parentId, @RequestParam(required = false) MultiValueMap<String, String> params) {
         Page<Entity> entities = findAllByParentId(parentId.getId(), parsePageRequest(params, getDefaultSort()));
-        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+        return toPageableResult(entities);
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/{id}")
@@ -79,6 +80,17 @@ public abstract class AbstractCrudChildObfuscatedController<Entity, Read, Write,
         return Sort.unsorted();
     }
 
+    /**
+     * converts a page of entities into the response - by default the whole content gets converted at once<br>
+     * return {@link ConvertingPageableResult#of(Page, EntityReadWriteConverter)} in order to convert and write the content element by element during serialization
+     *
+     * @param entities page of entities
+     * @return wrapped and converted page
+     */
+    protected PageableResult<Read> toPageableResult(Page<Entity> entities) {
+        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+    }
+
     /**
      * should find entity by given parentId and id. in case anything is not fitting: for example parentId with id it could throw for example {@link io.rocketbase.commons.exception.NotFoundException}
      */
@@ -1,14 +1,23 @@
 package io.rocketbase.commons.controller;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.rocketbase.commons.cache.EntityCache;
 import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.batch.BatchResult;
+import io.rocketbase.commons.dto.batch.BatchWrite;
+import io.rocketbase.commons.obfuscated.IdObfuscator;
 import io.rocketbase.commons.obfuscated.ObfuscatedId;
 import io.rocketbase.commons.exception.NotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import static io.rocketbase.commons.patch.MergePatchSupport.APPLICATION_MERGE_PATCH_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 
@@ -22,6 +31,9 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
  */
 public abstract class AbstractCrudObfuscatedController<Entity, Read, Write, Converter extends EntityReadWriteConverter<Entity, Read, Write>> extends AbstractBaseCrudController<Entity, Read, Write, Long, Converter> {
 
+    @Autowired(required = false)
+    private IdObfuscator idObfuscator;
+
     public AbstractCrudObfuscatedController(PagingAndSortingRepository<Entity, Long> repository, Converter converter) {
         super(repository, converter);
     }
@@ -30,32 +42,137 @@ public abstract class AbstractCrudObfuscatedController<Entity, Read, Write, Conv
     @ResponseBody
     public Read getById(@PathVariable("id") ObfuscatedId id) {
         Entity entity = getEntity(id);
-        return getConverter().fromEntity(entity);
+        String eTag = getETag(entity);
+        if (checkNotModified(eTag) || writeJson(entity, eTag)) {
+            return null;
+        }
+        Read read = getConverter().fromEntity(entity);
+        if (eTag == null && checkNotModified(getBodyETag(read))) {
+            return null;
+        }
+        return read;
     }
 
     @RequestMapping(method = RequestMethod.PUT, path = "/{id}", consumes = APPLICATION_JSON_VALUE)
     @ResponseBody
     public Read update(@PathVariable ObfuscatedId id, @RequestBody @NotNull @Validated Write write) {
-        Entity entity = getEntity(id);
-        getConverter().updateEntityFromEdit(write, entity);
-        getRepository().save(entity);
+        Entity entity = writeThrough(id.getId(), () -> updateEntity(id, write));
+        afterUpdate(entity);
         return getConverter().fromEntity(entity);
     }
 
+    /**
+     * JSON merge patch (RFC 7396) that only validates and stores the given properties
+     */
+    @RequestMapping(method = RequestMethod.PATCH, path = "/{id}", consumes = APPLICATION_MERGE_PATCH_JSON_VALUE)
+    @ResponseBody
+    public Read patch(@PathVariable("id") ObfuscatedId id, @RequestBody @NotNull ObjectNode patch) {
+        Entity saved = writeThrough(id.getId(), () -> patchEntity(loadEntity(id.getId()), patch));
+        afterUpdate(saved);
+        return getConverter().fromEntity(saved);
+    }
+
     @RequestMapping(method = RequestMethod.DELETE, path = "/{id}")
     public void delete(@PathVariable("id") ObfuscatedId id) {
-        Entity entity = getEntity(id);
-        getRepository().delete(entity);
+        deleteEntity(id);
+        evictEntity(id.getId());
+        afterDelete(id.getId());
+    }
+
+    /**
+     * loads all ids with one query - missing or invalid entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/lookup", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> lookup(@RequestBody @NotNull List<ObfuscatedId> ids) {
+        return lookupItems(ids.stream()
+                .map(id -> id != null ? id.getId() : null)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * updates all entries in chunks - missing or invalid entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.PUT, path = "/batch", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> updateBatch(@RequestBody @NotNull List<BatchWrite<ObfuscatedId, Write>> writes) {
+        return updateBatchItems(writes.stream()
+                        .map(entry -> entry.getId() != null ? entry.getId().getId() : null)
+                        .collect(Collectors.toList()),
+                writes.stream()
+                        .map(BatchWrite::getData)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * deletes all entries in chunks - missing entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.DELETE, path = "/batch", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> deleteBatch(@RequestBody @NotNull List<ObfuscatedId> ids) {
+        return deleteBatchItems(ids.stream()
+                .map(id -> id != null ? id.getId() : null)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * loads the entity bypassing {@link #getEntityCache()}, applies {@link EntityReadWriteConverter#updateEntityFromEdit(Object, Object)} and saves it<br>
+     * could be overwritten with a single round trip update - for example {@link io.rocketbase.commons.write.MongoWriteSupport#updateById} in combination with {@link EntityReadWriteConverter#describeUpdate(Object)}
+     *
+     * @param id    identifier
+     * @param write values to map to entity
+     * @return saved entity
+     */
+    protected Entity updateEntity(ObfuscatedId id, Write write) {
+        Entity entity = loadEntity(id.getId());
+        getConverter().updateEntityFromEdit(write, entity);
+        return getRepository().save(entity);
     }
 
     /**
-     * get by Id or throw {@link NotFoundException}
+     * loads the entity and deletes it - throws {@link NotFoundException} when missing<br>
+     * could be overwritten with a single round trip delete - for example {@link io.rocketbase.commons.write.MongoWriteSupport#deleteById}
+     *
+     * @param id identifier
+     */
+    protected void deleteEntity(ObfuscatedId id) {
+        getRepository().delete(loadEntity(id.getId()));
+    }
+
+    /**
+     * get by Id or throw {@link NotFoundException} - reads through {@link #getEntityCache()} when configured
      *
      * @param id obfuscated unique identifier
      * @return entity
      */
     protected Entity getEntity(ObfuscatedId id) {
-        return getRepository().findById(id.getId())
+        EntityCache<Long, Entity> entityCache = getEntityCache();
+        if (entityCache != null) {
+            return entityCache.get(id.getId(), this::loadEntity);
+        }
+        return loadEntity(id.getId());
+    }
+
+    /**
+     * change events contain the obfuscated id
+     */
+    @Override
+    protected String toEventId(Long id) {
+        if (id != null && idObfuscator != null) {
+            return idObfuscator.obfuscate(id).getObfuscated();
+        }
+        return super.toEventId(id);
+    }
+
+    /**
+     * load by Id from repository or throw {@link NotFoundException}<br>
+     * used by all writes, so that cached instances never get modified before they are saved
+     *
+     * @param id unique identifier
+     * @return entity
+     */
+    protected Entity loadEntity(Long id) {
+        return getRepository().findById(id)
                 .orElseThrow(() -> new NotFoundException());
     }
 
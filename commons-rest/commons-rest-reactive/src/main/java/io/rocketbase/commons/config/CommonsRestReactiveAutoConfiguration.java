@@ -0,0 +1,29 @@
+package io.rocketbase.commons.config;
+
+import io.rocketbase.commons.controller.exceptionhandler.ReactiveExceptionHandler;
+import io.rocketbase.commons.reactive.LocaleContextWebFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CommonsRestReactiveAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "reactive.localeContext.enabled", matchIfMissing = true)
+    public LocaleContextWebFilter localeContextWebFilter() {
+        return new LocaleContextWebFilter();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "handler.reactive.enabled", matchIfMissing = true)
+    public ReactiveExceptionHandler reactiveExceptionHandler() {
+        return new ReactiveExceptionHandler();
+    }
+
+}
@@ -0,0 +1,124 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.reactive.ReactiveLocaleSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * reactive CRUD controller that serves entities of a {@link ReactiveSortingRepository}<br>
+ * converter calls are executed with the locale of the request (see {@link io.rocketbase.commons.reactive.LocaleContextWebFilter})
+ *
+ * @param <Entity>    database entity
+ * @param <Read>      response data object
+ * @param <Write>     object with all properties that are changeable
+ * @param <ID>        class of the identifier
+ * @param <Converter> interface that allows converting between Entity, Read and Write
+ */
+@RequiredArgsConstructor
+public abstract class AbstractReactiveBaseCrudController<Entity, Read, Write, ID extends Serializable, Converter extends EntityReadWriteConverter<Entity, Read, Write>> implements ReactiveBaseController {
+
+    @Getter(AccessLevel.PROTECTED)
+    private final ReactiveSortingRepository<Entity, ID> repository;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final Converter converter;
+
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    public Mono<PageableResult<Read>> find(@RequestParam(required = false) MultiValueMap<String, String> params) {
+        Pageable pageable = parsePageRequest(params, getDefaultSort());
+        return Mono.zip(convert(findAll(pageable)).collectList(), repository.count())
+                .map(tuple -> PageableResult.contentPage(tuple.getT1(), new PageImpl<>(tuple.getT1(), pageable, tuple.getT2())));
+    }
+
+    /**
+     * streams all entities sorted by parameter sort as newline delimited json without collecting them
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public Flux<Read> stream(@RequestParam(required = false) MultiValueMap<String, String> params) {
+        return convert(repository.findAll(parseSort(params, "sort", getDefaultSort())));
+    }
+
+    @RequestMapping(method = RequestMethod.POST, consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    @ResponseStatus(value = HttpStatus.CREATED)
+    public Mono<Read> create(@RequestBody @NotNull @Validated Write write) {
+        return convert(ReactiveLocaleSupport.fromSupplier(() -> converter.newEntity(write))
+                .flatMap(repository::save)
+                .flatMap(entity -> afterCreate(entity).thenReturn(entity)));
+    }
+
+    /**
+     * @return default sort in case nothing is given via parameter
+     */
+    protected Sort getDefaultSort() {
+        return Sort.unsorted();
+    }
+
+    /**
+     * loads a page of entities - {@link ReactiveSortingRepository} has no paging support, skipping within the stream would read all previous entities<br>
+     * implement it with a query that uses the pageable, for example findAllBy(Pageable) of the repository or ReactiveMongoTemplate with Query.with(pageable)
+     *
+     * @param pageable page request
+     * @return content of the page
+     */
+    protected abstract Flux<Entity> findAll(Pageable pageable);
+
+    protected Mono<Read> convert(Mono<Entity> entity) {
+        return ReactiveLocaleSupport.map(entity, converter::fromEntity);
+    }
+
+    protected Flux<Read> convert(Flux<Entity> entities) {
+        return ReactiveLocaleSupport.map(entities, converter::fromEntity);
+    }
+
+    /**
+     * hook after an entity got created
+     *
+     * @param entity saved entity
+     * @return completion - by default empty
+     */
+    protected Mono<Void> afterCreate(Entity entity) {
+        return Mono.empty();
+    }
+
+    /**
+     * hook after an entity got updated
+     *
+     * @param entity saved entity
+     * @return completion - by default empty
+     */
+    protected Mono<Void> afterUpdate(Entity entity) {
+        return Mono.empty();
+    }
+
+    /**
+     * hook after an entity got deleted
+     *
+     * @param id identifier of deleted entity
+     * @return completion - by default empty
+     */
+    protected Mono<Void> afterDelete(ID id) {
+        return Mono.empty();
+    }
+}
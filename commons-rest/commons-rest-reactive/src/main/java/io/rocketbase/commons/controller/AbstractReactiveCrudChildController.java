@@ -0,0 +1,129 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.exception.NotFoundException;
+import io.rocketbase.commons.reactive.ReactiveLocaleSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * reactive CRUD controller that serves child entities of it's parent<br>
+ * <b>It's important that you place the pathVariable parentId in your main RequestMapping</b>
+ *
+ * @param <Entity>    database entity
+ * @param <Read>      response data object
+ * @param <Write>     object with all properties that are changeable
+ * @param <ID>        class of the identifier
+ * @param <Converter> interface that allows converting between Entity, Read and Write
+ */
+@RequiredArgsConstructor
+public abstract class AbstractReactiveCrudChildController<Entity, Read, Write, ID extends Serializable, Converter extends EntityReadWriteConverter<Entity, Read, Write>> implements ReactiveBaseController {
+
+    @Getter(AccessLevel.PROTECTED)
+    private final ReactiveSortingRepository<Entity, ID> repository;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final Converter converter;
+
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    public Mono<PageableResult<Read>> find(@PathVariable("parentId") ID parentId, @RequestParam(required = false) MultiValueMap<String, String> params) {
+        Pageable pageable = parsePageRequest(params, getDefaultSort());
+        return Mono.zip(convert(findAllByParentId(parentId, pageable)).collectList(), countByParentId(parentId))
+                .map(tuple -> PageableResult.contentPage(tuple.getT1(), new PageImpl<>(tuple.getT1(), pageable, tuple.getT2())));
+    }
+
+    @RequestMapping(method = RequestMethod.GET, path = "/{id}")
+    @ResponseBody
+    public Mono<Read> getById(@PathVariable("parentId") ID parentId, @PathVariable("id") ID id) {
+        return convert(getExistingEntity(parentId, id));
+    }
+
+    @RequestMapping(method = RequestMethod.POST, consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    @ResponseStatus(value = HttpStatus.CREATED)
+    public Mono<Read> create(@PathVariable("parentId") ID parentId, @RequestBody @NotNull @Validated Write write) {
+        return convert(newEntity(parentId, write)
+                .flatMap(repository::save));
+    }
+
+    @RequestMapping(method = RequestMethod.PUT, path = "/{id}", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Mono<Read> update(@PathVariable("parentId") ID parentId, @PathVariable ID id, @RequestBody @NotNull @Validated Write write) {
+        return convert(getExistingEntity(parentId, id)
+                .flatMap(entity -> ReactiveLocaleSupport.fromSupplier(() -> converter.updateEntityFromEdit(write, entity)))
+                .flatMap(repository::save));
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE, path = "/{id}")
+    public Mono<Void> delete(@PathVariable("parentId") ID parentId, @PathVariable("id") ID id) {
+        return getExistingEntity(parentId, id)
+                .flatMap(repository::delete);
+    }
+
+    /**
+     * @return default sort in case nothing is given via parameter
+     */
+    protected Sort getDefaultSort() {
+        return Sort.unsorted();
+    }
+
+    protected Mono<Read> convert(Mono<Entity> entity) {
+        return ReactiveLocaleSupport.map(entity, converter::fromEntity);
+    }
+
+    protected Flux<Read> convert(Flux<Entity> entities) {
+        return ReactiveLocaleSupport.map(entities, converter::fromEntity);
+    }
+
+    private Mono<Entity> getExistingEntity(ID parentId, ID id) {
+        return getEntity(parentId, id)
+                .switchIfEmpty(Mono.error(NotFoundException::new));
+    }
+
+    /**
+     * @param parentId identifier of parent
+     * @param id       identifier of child
+     * @return child of parent or empty
+     */
+    protected abstract Mono<Entity> getEntity(ID parentId, ID id);
+
+    /**
+     * @param parentId identifier of parent
+     * @param pageable page request
+     * @return content of the page
+     */
+    protected abstract Flux<Entity> findAllByParentId(ID parentId, Pageable pageable);
+
+    /**
+     * @param parentId identifier of parent
+     * @return total count of children
+     */
+    protected abstract Mono<Long> countByParentId(ID parentId);
+
+    /**
+     * create new entity by given write and assign the parent
+     *
+     * @param parentId identifier of parent
+     * @param write    values to map to entity
+     * @return new entity - should signal {@link NotFoundException} when parent is missing
+     */
+    protected abstract Mono<Entity> newEntity(ID parentId, Write write);
+}
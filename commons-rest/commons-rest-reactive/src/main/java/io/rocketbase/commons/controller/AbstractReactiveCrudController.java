@@ -0,0 +1,83 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.exception.NotFoundException;
+import io.rocketbase.commons.reactive.ReactiveLocaleSupport;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * reactive CRUD controller that serves entities
+ *
+ * @param <Entity>    database entity
+ * @param <Read>      response data object
+ * @param <Write>     object with all properties that are changeable
+ * @param <ID>        class of the identifier
+ * @param <Converter> interface that allows converting between Entity, Read and Write
+ */
+public abstract class AbstractReactiveCrudController<Entity, Read, Write, ID extends Serializable, Converter extends EntityReadWriteConverter<Entity, Read, Write>> extends AbstractReactiveBaseCrudController<Entity, Read, Write, ID, Converter> {
+
+    public AbstractReactiveCrudController(ReactiveSortingRepository<Entity, ID> repository, Converter converter) {
+        super(repository, converter);
+    }
+
+    @RequestMapping(method = RequestMethod.GET, path = "/{id}")
+    @ResponseBody
+    public Mono<Read> getById(@PathVariable("id") ID id) {
+        return convert(getEntity(id));
+    }
+
+    @RequestMapping(method = RequestMethod.PUT, path = "/{id}", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Mono<Read> update(@PathVariable ID id, @RequestBody @NotNull @Validated Write write) {
+        return convert(updateEntity(id, write)
+                .flatMap(entity -> afterUpdate(entity).thenReturn(entity)));
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE, path = "/{id}")
+    public Mono<Void> delete(@PathVariable("id") ID id) {
+        return deleteEntity(id)
+                .then(afterDelete(id));
+    }
+
+    /**
+     * loads the entity, applies {@link EntityReadWriteConverter#updateEntityFromEdit(Object, Object)} and saves it
+     *
+     * @param id    identifier
+     * @param write values to map to entity
+     * @return saved entity
+     */
+    protected Mono<Entity> updateEntity(ID id, Write write) {
+        return getEntity(id)
+                .flatMap(entity -> ReactiveLocaleSupport.fromSupplier(() -> getConverter().updateEntityFromEdit(write, entity)))
+                .flatMap(getRepository()::save);
+    }
+
+    /**
+     * loads the entity and deletes it - signals {@link NotFoundException} when missing
+     *
+     * @param id identifier
+     */
+    protected Mono<Void> deleteEntity(ID id) {
+        return getEntity(id)
+                .flatMap(getRepository()::delete);
+    }
+
+    /**
+     * get by Id or signal {@link NotFoundException}
+     *
+     * @param id unique identifier
+     * @return entity
+     */
+    protected Mono<Entity> getEntity(ID id) {
+        return getRepository().findById(id)
+                .switchIfEmpty(Mono.error(NotFoundException::new));
+    }
+}
@@ -0,0 +1,47 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.util.QueryParamParser;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * a until interface that provides convenient functions for WebFlux controller
+ */
+public interface ReactiveBaseController {
+
+    int DEFAULT_PAGE_SIZE = 25;
+    int DEFAULT_MAX_PAGE_SIZE = 200;
+
+    /**
+     * parse page, size and sort from request
+     *
+     * @param params      MultiValueMap that contains all query params of request
+     * @param defaultSort sort that should get used in case of not filled parameter
+     * @return a filled {@link PageRequest}
+     */
+    default Pageable parsePageRequest(MultiValueMap<String, String> params, Sort defaultSort) {
+        return QueryParamParser.parsePageRequest(params, defaultSort, getDefaultPageSize(), getMaxPageSize());
+    }
+
+    /**
+     * parse sort and build correct {@link Sort}
+     *
+     * @param params      MultiValueMap that contains all query params of request
+     * @param key         name of sort parameter in uri
+     * @param defaultSort sort that should get used in case of not filled parameter
+     * @return defaultSort in case of empty param or filled one
+     */
+    default Sort parseSort(MultiValueMap<String, String> params, String key, Sort defaultSort) {
+        return QueryParamParser.parseSort(params, key, defaultSort);
+    }
+
+    default int getDefaultPageSize() {
+        return DEFAULT_PAGE_SIZE;
+    }
+
+    default int getMaxPageSize() {
+        return DEFAULT_MAX_PAGE_SIZE;
+    }
+}
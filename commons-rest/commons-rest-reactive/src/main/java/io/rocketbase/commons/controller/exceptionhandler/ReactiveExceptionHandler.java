@@ -0,0 +1,53 @@
+package io.rocketbase.commons.controller.exceptionhandler;
+
+import io.rocketbase.commons.dto.ErrorResponse;
+import io.rocketbase.commons.exception.BadRequestException;
+import io.rocketbase.commons.exception.ErrorCodes;
+import io.rocketbase.commons.exception.NotFoundException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * WebFlux counterpart of the servlet exception handlers with the same {@link ErrorResponse} format
+ */
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler
+    @ResponseStatus(NOT_FOUND)
+    @ResponseBody
+    public ErrorResponse handleNotFoundException(NotFoundException e) {
+        if (e.getErrorResponse() == null) {
+            return new ErrorResponse(NOT_FOUND.value(), NOT_FOUND.getReasonPhrase());
+        }
+        return e.getErrorResponse();
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponse handleBadRequestException(BadRequestException e) {
+        if (e.getErrorResponse() == null) {
+            return new ErrorResponse(BAD_REQUEST.value(), BAD_REQUEST.getReasonPhrase());
+        }
+        return e.getErrorResponse();
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponse handleBindException(WebExchangeBindException e) {
+        ErrorResponse result = new ErrorResponse(ErrorCodes.FORM_ERROR.getStatus(), e.getGlobalError() != null ? e.getGlobalError().getDefaultMessage() : "invalid form");
+        for (FieldError fieldError : e.getFieldErrors()) {
+            result.addField(fieldError.getField(), fieldError.getDefaultMessage());
+        }
+        return result;
+    }
+}
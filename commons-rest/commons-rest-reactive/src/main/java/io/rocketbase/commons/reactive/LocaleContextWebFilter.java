@@ -0,0 +1,18 @@
+package io.rocketbase.commons.reactive;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * stores the resolved {@link org.springframework.context.i18n.LocaleContext} of each request in the reactor context
+ */
+public class LocaleContextWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                .contextWrite(context -> ReactiveLocaleSupport.withLocaleContext(context, exchange.getLocaleContext()));
+    }
+}
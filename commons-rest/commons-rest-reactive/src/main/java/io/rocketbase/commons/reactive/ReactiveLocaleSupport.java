@@ -0,0 +1,79 @@
+package io.rocketbase.commons.reactive;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * bridges the locale of the reactor context into {@link LocaleContextHolder} for blocking style code like converters and message sources
+ */
+public final class ReactiveLocaleSupport {
+
+    /**
+     * key of the {@link LocaleContext} within the reactor context
+     */
+    public static final Class<LocaleContext> CONTEXT_KEY = LocaleContext.class;
+
+    /**
+     * @return context with the given locale - filled by {@link LocaleContextWebFilter} for each request
+     */
+    public static Context withLocaleContext(Context context, LocaleContext localeContext) {
+        return localeContext != null ? context.put(CONTEXT_KEY, localeContext) : context;
+    }
+
+    /**
+     * @return locale context of the reactor context or null
+     */
+    public static LocaleContext getLocaleContext(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * executes the supplier with the locale of the subscriber context
+     */
+    public static <T> Mono<T> fromSupplier(Supplier<T> supplier) {
+        return Mono.deferContextual(context -> Mono.fromSupplier(() -> call(getLocaleContext(context), supplier)));
+    }
+
+    /**
+     * maps each element with the locale of the subscriber context
+     */
+    public static <T, R> Mono<R> map(Mono<T> mono, Function<T, R> mapper) {
+        return Mono.deferContextual(context -> {
+            LocaleContext localeContext = getLocaleContext(context);
+            return mono.map(value -> call(localeContext, () -> mapper.apply(value)));
+        });
+    }
+
+    /**
+     * maps each element with the locale of the subscriber context
+     */
+    public static <T, R> Flux<R> map(Flux<T> flux, Function<T, R> mapper) {
+        return Flux.deferContextual(context -> {
+            LocaleContext localeContext = getLocaleContext(context);
+            return flux.map(value -> call(localeContext, () -> mapper.apply(value)));
+        });
+    }
+
+    /**
+     * sets the locale context for the current thread during the call and restores the previous one afterwards
+     */
+    public static <T> T call(LocaleContext localeContext, Supplier<T> supplier) {
+        if (localeContext == null) {
+            return supplier.get();
+        }
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(localeContext);
+        try {
+            return supplier.get();
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+    }
+}
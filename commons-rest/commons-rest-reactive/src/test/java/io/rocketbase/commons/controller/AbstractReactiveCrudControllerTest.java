@@ -0,0 +1,193 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.controller.exceptionhandler.ReactiveExceptionHandler;
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.reactive.LocaleContextWebFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AbstractReactiveCrudControllerTest {
+
+    private ReactiveSortingRepository<SampleEntity, String> repository;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        repository = mock(ReactiveSortingRepository.class);
+        client = WebTestClient.bindToController(new SampleController(repository))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .webFilter(new LocaleContextWebFilter())
+                .build();
+    }
+
+    @Test
+    void getByIdConvertsWithRequestLocale() {
+        // given
+        when(repository.findById("1")).thenReturn(Mono.just(new SampleEntity("1", "abc")));
+
+        // when
+        SampleRead read = client.get().uri("/sample/1")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "de")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SampleRead.class)
+                .returnResult().getResponseBody();
+
+        // then
+        assertThat(read.getName(), equalTo("abc"));
+        assertThat(read.getLanguage(), equalTo("de"));
+    }
+
+    @Test
+    void getByIdNotFound() {
+        // given
+        when(repository.findById("2")).thenReturn(Mono.empty());
+
+        // when // then
+        client.get().uri("/sample/2")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void findReturnsPage() {
+        // given
+        when(repository.findAll(any(Sort.class))).thenReturn(Flux.just(new SampleEntity("1", "a"), new SampleEntity("2", "b"), new SampleEntity("3", "c")));
+        when(repository.count()).thenReturn(Mono.just(3L));
+
+        // when // then
+        client.get().uri("/sample?page=1&pageSize=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.page").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("c");
+    }
+
+    @Test
+    void streamReturnsNdjson() {
+        // given
+        when(repository.findAll(any(Sort.class))).thenReturn(Flux.just(new SampleEntity("1", "a"), new SampleEntity("2", "b")));
+
+        // when
+        List<SampleRead> reads = client.get().uri("/sample/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SampleRead.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then
+        assertThat(reads.size(), equalTo(2));
+        assertThat(reads.get(1).getName(), equalTo("b"));
+    }
+
+    @Test
+    void createSavesEntity() {
+        // given
+        when(repository.save(any(SampleEntity.class))).thenAnswer(invocation -> {
+            SampleEntity entity = invocation.getArgument(0);
+            entity.setId("5");
+            return Mono.just(entity);
+        });
+
+        // when
+        SampleRead read = client.post().uri("/sample")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new SampleWrite("new"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(SampleRead.class)
+                .returnResult().getResponseBody();
+
+        // then
+        assertThat(read.getId(), equalTo("5"));
+        assertThat(read.getName(), equalTo("new"));
+    }
+
+    @RequestMapping("/sample")
+    static class SampleController extends AbstractReactiveCrudController<SampleEntity, SampleRead, SampleWrite, String, SampleConverter> {
+
+        SampleController(ReactiveSortingRepository<SampleEntity, String> repository) {
+            super(repository, new SampleConverter());
+        }
+
+        @Override
+        protected Flux<SampleEntity> findAll(Pageable pageable) {
+            return getRepository().findAll(pageable.getSort())
+                    .skip(pageable.getOffset())
+                    .take(pageable.getPageSize());
+        }
+    }
+
+    static class SampleConverter implements EntityReadWriteConverter<SampleEntity, SampleRead, SampleWrite> {
+
+        @Override
+        public SampleRead fromEntity(SampleEntity entity) {
+            return new SampleRead(entity.getId(), entity.getName(), LocaleContextHolder.getLocale().getLanguage());
+        }
+
+        @Override
+        public SampleEntity newEntity(SampleWrite write) {
+            return new SampleEntity(null, write.getName());
+        }
+
+        @Override
+        public SampleEntity updateEntityFromEdit(SampleWrite write, SampleEntity entity) {
+            entity.setName(write.getName());
+            return entity;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class SampleEntity {
+        private String id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class SampleRead {
+        private String id;
+        private String name;
+        private String language;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class SampleWrite {
+        private String name;
+    }
+}
@@ -0,0 +1,99 @@
+package io.rocketbase.commons.async;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * fixed size thread pool with a bounded queue used by async controllers<br>
+ * tasks that don't fit into the queue get rejected with {@link RejectedExecutionException} instead of blocking the caller<br>
+ * the locale of the submitting thread is propagated to the worker
+ */
+public class BoundedExecutor implements Executor {
+
+    public static final int DEFAULT_THREADS = 10;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 100;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * @param name          prefix of the thread names
+     * @param threads       maximum count of parallel executions
+     * @param queueCapacity maximum count of waiting tasks
+     */
+    public BoundedExecutor(String name, int threads, int queueCapacity) {
+        this(name, threads, queueCapacity, daemonThreadFactory(name));
+    }
+
+    /**
+     * @param name          used within the rejection message
+     * @param threads       maximum count of parallel executions
+     * @param queueCapacity maximum count of waiting tasks
+     * @param threadFactory creates the worker threads - for example virtual threads on jdk 21
+     */
+    public BoundedExecutor(String name, int threads, int queueCapacity, ThreadFactory threadFactory) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                (runnable, pool) -> {
+                    rejectedCount.increment();
+                    throw new RejectedExecutionException(String.format("%s is saturated - %d active, %d queued", name, pool.getActiveCount(), pool.getQueue().size()));
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        executor.execute(() -> {
+            LocaleContext previous = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                command.run();
+            } finally {
+                LocaleContextHolder.setLocaleContext(previous);
+            }
+        });
+    }
+
+    /**
+     * @return count of tasks that have been rejected because of a full queue
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * stops accepting new tasks - already submitted ones are still executed
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,214 @@
+package io.rocketbase.commons.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * collects concurrent single saves and stores them with one saveAll (group commit)<br>
+ * a batch gets flushed as soon as it contains maxBatchSize entities or the first entity waited maxDelay<br>
+ * each caller blocks until its own entity is stored and gets its own saved entity or error<br>
+ * <b>saveAll has to be atomic or report failed entities via {@link PartialBatchWriteException}</b> (for example {@link MongoBatchSupport#saveAll}) -
+ * any other exception fails all entities of the batch, so a non-atomic saveAll like repository.saveAll on mongo (insertAll) would report entities as failed that have been stored<br>
+ * only when saveAll is atomic (for example transactional) the entities of a failed batch can get saved one by one via retrySingly<br>
+ * saveAll runs on the flushing thread: the SecurityContext (auditing via AuditorAware), request scope and transaction of the calling requests are not available there -
+ * set audit fields before passing the entity
+ *
+ * @param <Entity> database entity
+ */
+@Slf4j
+public class GroupCommitter<Entity> implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(5);
+
+    public static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Function<List<Entity>, List<Entity>> saveAll;
+
+    private final int maxBatchSize;
+
+    private final long maxDelayNanos;
+
+    private final long waitTimeoutNanos;
+
+    private final boolean retrySingly;
+
+    private final BlockingQueue<Pending<Entity>> queue = new LinkedBlockingQueue<>();
+
+    private final Thread flusher;
+
+    private final LongAdder flushCount = new LongAdder();
+
+    private final LongAdder entityCount = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name         name of the flushing thread
+     * @param saveAll      stores all entities and returns them in the same order - atomic or reporting {@link PartialBatchWriteException}, for example entities -> MongoBatchSupport.saveAll(mongoTemplate, entities)
+     * @param maxBatchSize maximum count of entities per saveAll
+     * @param maxDelay     maximum time the first entity of a batch waits for others
+     */
+    public GroupCommitter(String name, Function<List<Entity>, List<Entity>> saveAll, int maxBatchSize, Duration maxDelay) {
+        this(name, saveAll, maxBatchSize, maxDelay, DEFAULT_WAIT_TIMEOUT, false);
+    }
+
+    /**
+     * @param name         name of the flushing thread
+     * @param saveAll      stores all entities and returns them in the same order - atomic or reporting {@link PartialBatchWriteException}, for example entities -> MongoBatchSupport.saveAll(mongoTemplate, entities)
+     * @param maxBatchSize maximum count of entities per saveAll
+     * @param maxDelay     maximum time the first entity of a batch waits for others
+     * @param waitTimeout  maximum time a caller waits for the result of its entity
+     * @param retrySingly  saves the entities of a failed batch one by one - <b>only use it when saveAll stores nothing in case of an error</b>, otherwise already stored entities get saved twice
+     */
+    public GroupCommitter(String name, Function<List<Entity>, List<Entity>> saveAll, int maxBatchSize, Duration maxDelay, Duration waitTimeout, boolean retrySingly) {
+        this.saveAll = saveAll;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.retrySingly = retrySingly;
+        this.flusher = new Thread(this::run, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * queues the entity for the next batch and waits until it has been stored
+     *
+     * @param entity entity to save
+     * @return saved entity
+     * @throws RejectedExecutionException when the entity hasn't been passed to saveAll within the waitTimeout
+     */
+    public Entity save(Entity entity) {
+        if (!running || !flusher.isAlive()) {
+            throw new IllegalStateException("group committer is closed");
+        }
+        Pending<Entity> pending = new Pending<>(entity);
+        queue.add(pending);
+        try {
+            return pending.result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for group commit", e);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new RejectedExecutionException("group commit did not start within the wait timeout");
+            }
+            throw new IllegalStateException("group commit did not finish within the wait timeout - entity may have been stored", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return count of executed saveAll calls
+     */
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * @return count of entities that passed the committer
+     */
+    public long getEntityCount() {
+        return entityCount.sum();
+    }
+
+    /**
+     * stops the flushing thread - waiting and queued entities fail with {@link IllegalStateException}
+     */
+    @Override
+    public void close() {
+        running = false;
+        flusher.interrupt();
+        List<Pending<Entity>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result.completeExceptionally(new IllegalStateException("group committer is closed")));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                List<Pending<Entity>> batch = new ArrayList<>(maxBatchSize);
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending<Entity> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                // keep the flusher alive - flush already completed the callers of the batch
+                log.error("group commit failed unexpectedly", e);
+            }
+        }
+    }
+
+    private void flush(List<Pending<Entity>> batch) {
+        flushCount.increment();
+        entityCount.add(batch.size());
+        List<Entity> entities = new ArrayList<>(batch.size());
+        batch.forEach(pending -> entities.add(pending.entity));
+        try {
+            List<Entity> saved = saveAll.apply(entities);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(saved.get(i));
+            }
+        } catch (PartialBatchWriteException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                if (e.isStored(i)) {
+                    batch.get(i).result.complete(entities.get(i));
+                } else {
+                    batch.get(i).result.completeExceptionally(e.getFailures().get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!retrySingly || batch.size() == 1) {
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+                return;
+            }
+            log.debug("group commit of {} entities failed - saving them one by one", batch.size(), e);
+            for (Pending<Entity> pending : batch) {
+                try {
+                    pending.result.complete(saveAll.apply(Collections.singletonList(pending.entity)).get(0));
+                } catch (Throwable single) {
+                    pending.result.completeExceptionally(single);
+                }
+            }
+        } catch (Throwable e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private static class Pending<Entity> {
+        private final Entity entity;
+        private final CompletableFuture<Entity> result = new CompletableFuture<>();
+
+        private Pending(Entity entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.rocketbase.commons.batch;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.rocketbase.commons.exception.NotFoundException;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * stores chunks of batch requests with as few round trips as possible
+ */
+public final class MongoBatchSupport {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * stores new and existing entities with one unordered bulk write<br>
+     * new entities get an id assigned before, existing ones get replaced - in case the entity has a @Version it's used for optimistic locking and gets incremented<br>
+     * each operation succeeds or fails on it's own: a stale version fails with {@link OptimisticLockingFailureException}, a removed entity with {@link NotFoundException}<br>
+     * removed entities are never recreated - replacements that didn't match get resolved with one additional find
+     *
+     * @param mongoOperations mongo template
+     * @param entities        entities of the same class
+     * @return given entities - new ones with generated ids
+     * @throws PartialBatchWriteException with the failure per index - all other entities are stored
+     */
+    @SuppressWarnings("unchecked")
+    public static <Entity> List<Entity> saveAll(MongoOperations mongoOperations, List<Entity> entities) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        Class<Entity> entityClass = (Class<Entity>) entities.get(0).getClass();
+        MongoPersistentEntity<?> persistentEntity = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        MongoPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+
+        Map<Integer, RuntimeException> failures = new HashMap<>();
+        // entity index, rollback and replaced id per bulk operation index - the id is null for inserts
+        List<Integer> operations = new ArrayList<>();
+        List<Runnable> rollbacks = new ArrayList<>();
+        List<Object> replacedIds = new ArrayList<>();
+        BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            PersistentPropertyAccessor<Entity> accessor = persistentEntity.getPropertyAccessor(entity);
+            Object id = accessor.getProperty(idProperty);
+            Object version = versionProperty != null ? accessor.getProperty(versionProperty) : null;
+            if (persistentEntity.isNew(entity)) {
+                Object newId = id != null ? id : generateId(idProperty.getType());
+                if (newId == null) {
+                    // id type can't be generated upfront - insert on it's own
+                    insertSingle(mongoOperations, entity, i, failures);
+                    continue;
+                }
+                accessor.setProperty(idProperty, newId);
+                if (versionProperty != null) {
+                    accessor.setProperty(versionProperty, toVersion(versionProperty, 0));
+                }
+                bulkOperations.insert(entity);
+                rollbacks.add(() -> {
+                    accessor.setProperty(idProperty, id);
+                    if (versionProperty != null) {
+                        accessor.setProperty(versionProperty, version);
+                    }
+                });
+                replacedIds.add(null);
+            } else {
+                Query query = Query.query(Criteria.where(idProperty.getName()).is(id));
+                if (versionProperty != null) {
+                    query.addCriteria(Criteria.where(versionProperty.getName()).is(version));
+                    accessor.setProperty(versionProperty, toVersion(versionProperty, ((Number) version).longValue() + 1));
+                }
+                // no upsert - a removed entity must not get recreated, misses are resolved after the bulk
+                bulkOperations.replaceOne(query, entity);
+                rollbacks.add(() -> {
+                    if (versionProperty != null) {
+                        accessor.setProperty(versionProperty, version);
+                    }
+                });
+                replacedIds.add(id);
+            }
+            operations.add(i);
+        }
+
+        if (!operations.isEmpty()) {
+            BulkWriteResult result;
+            Set<Integer> failedOperations = new HashSet<>();
+            try {
+                result = bulkOperations.execute();
+            } catch (BulkOperationException e) {
+                result = e.getResult();
+                for (BulkWriteError error : e.getErrors()) {
+                    failedOperations.add(error.getIndex());
+                    rollbacks.get(error.getIndex()).run();
+                    failures.put(operations.get(error.getIndex()), toFailure(error));
+                }
+            } catch (RuntimeException e) {
+                rollbacks.forEach(Runnable::run);
+                throw e;
+            }
+            List<Integer> replaces = new ArrayList<>();
+            for (int op = 0; op < operations.size(); op++) {
+                if (replacedIds.get(op) != null && !failedOperations.contains(op)) {
+                    replaces.add(op);
+                }
+            }
+            if (result.getMatchedCount() < replaces.size()) {
+                resolveMisses(mongoOperations, persistentEntity, entities, operations, replacedIds, rollbacks, replaces, failures);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new PartialBatchWriteException(failures, entities.size());
+        }
+        return entities;
+    }
+
+    /**
+     * some replacements didn't match - one find of the stored versions decides per entity between removed and modified meanwhile
+     */
+    private static <Entity> void resolveMisses(MongoOperations mongoOperations, MongoPersistentEntity<?> persistentEntity, List<Entity> entities,
+                                               List<Integer> operations, List<Object> replacedIds, List<Runnable> rollbacks,
+                                               List<Integer> replaces, Map<Integer, RuntimeException> failures) {
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        MongoPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+        List<Object> ids = new ArrayList<>(replaces.size());
+        replaces.forEach(op -> ids.add(replacedIds.get(op)));
+        Query query = Query.query(Criteria.where(idProperty.getName()).in(ids));
+        query.fields().include(idProperty.getName());
+        if (versionProperty != null) {
+            query.fields().include(versionProperty.getName());
+        }
+        Map<Object, Object> storedVersions = new HashMap<>();
+        for (Object stored : mongoOperations.find(query, persistentEntity.getType())) {
+            PersistentPropertyAccessor<Object> accessor = persistentEntity.getPropertyAccessor(stored);
+            storedVersions.put(accessor.getProperty(idProperty), versionProperty != null ? accessor.getProperty(versionProperty) : Boolean.TRUE);
+        }
+        for (int op : replaces) {
+            int index = operations.get(op);
+            Object storedVersion = storedVersions.get(replacedIds.get(op));
+            if (storedVersion == null) {
+                rollbacks.get(op).run();
+                failures.put(index, new NotFoundException());
+            } else if (versionProperty != null
+                    && !storedVersion.equals(persistentEntity.getPropertyAccessor(entities.get(index)).getProperty(versionProperty))) {
+                rollbacks.get(op).run();
+                failures.put(index, new OptimisticLockingFailureException(String.format("%s has been modified meanwhile", persistentEntity.getType().getSimpleName())));
+            }
+        }
+    }
+
+    private static <Entity> void insertSingle(MongoOperations mongoOperations, Entity entity, int index, Map<Integer, RuntimeException> failures) {
+        try {
+            mongoOperations.insert(entity);
+        } catch (RuntimeException e) {
+            failures.put(index, e);
+        }
+    }
+
+    private static RuntimeException toFailure(BulkWriteError error) {
+        if (error.getCode() == DUPLICATE_KEY) {
+            return new DuplicateKeyException(error.getMessage());
+        }
+        return new DataIntegrityViolationException(error.getMessage());
+    }
+
+    private static Object generateId(Class<?> type) {
+        if (String.class.equals(type)) {
+            return new ObjectId().toHexString();
+        }
+        if (ObjectId.class.equals(type)) {
+            return new ObjectId();
+        }
+        if (BigInteger.class.equals(type)) {
+            return new BigInteger(new ObjectId().toHexString(), 16);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Number toVersion(MongoPersistentProperty versionProperty, long value) {
+        return NumberUtils.convertNumberToTargetClass(value, (Class<Number>) ClassUtils.resolvePrimitiveIfNecessary(versionProperty.getType()));
+    }
+}
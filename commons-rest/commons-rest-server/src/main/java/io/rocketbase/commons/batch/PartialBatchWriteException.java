@@ -0,0 +1,32 @@
+package io.rocketbase.commons.batch;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * thrown by a batch write in case only some entities could not be stored<br>
+ * all entities without failure have been stored and contain their new ids/versions
+ */
+@Getter
+public class PartialBatchWriteException extends RuntimeException {
+
+    /**
+     * failure per index of the given entities
+     */
+    private final Map<Integer, RuntimeException> failures;
+
+    public PartialBatchWriteException(Map<Integer, RuntimeException> failures, int size) {
+        super(String.format("%d of %d entities could not be stored", failures.size(), size));
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * @param index position within the given entities
+     * @return true when the entity has been stored
+     */
+    public boolean isStored(int index) {
+        return !failures.containsKey(index);
+    }
+}
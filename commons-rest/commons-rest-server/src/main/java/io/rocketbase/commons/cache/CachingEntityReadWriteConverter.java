@@ -0,0 +1,162 @@
+package io.rocketbase.commons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.rocketbase.commons.converter.EntityJsonWriter;
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.converter.ParallelConversion;
+import io.rocketbase.commons.etag.ETagSupport;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * decorator that caches the result of {@link #fromEntity(Object)} by id + version (@Version or @LastModifiedDate) of the entity<br>
+ * changed entities get a new version and therefore a fresh conversion, entities without id or version are always converted<br>
+ * entity types without any version property never hit the cache - they get logged once as warning<br>
+ * cached Read objects are shared between requests - they must not get modified after the conversion
+ *
+ * @param <Entity> database entity
+ * @param <Read>   response data object
+ * @param <Write>  object with all properties that are changeable
+ */
+@Slf4j
+public class CachingEntityReadWriteConverter<Entity, Read, Write> implements EntityReadWriteConverter<Entity, Read, Write> {
+
+    private final EntityReadWriteConverter<Entity, Read, Write> delegate;
+
+    private final boolean localeAware;
+
+    private final Cache<Key, Read> cache;
+
+    private final Set<Class<?>> unversionedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param delegate         converter that does the mapping
+     * @param localeAware      true when the Read depends on the current locale (for example resolved Translation fields) - adds the locale to the key
+     * @param maximumSize      maximum count of cached Read objects
+     * @param expireAfterWrite ttl of a cached Read - limits the staleness of data loaded from references
+     */
+    public CachingEntityReadWriteConverter(EntityReadWriteConverter<Entity, Read, Write> delegate, boolean localeAware, long maximumSize, Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.localeAware = localeAware;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Read fromEntity(Entity entity) {
+        Key key = getKey(entity);
+        return key != null ? cache.get(key, k -> delegate.fromEntity(entity)) : delegate.fromEntity(entity);
+    }
+
+    /**
+     * only entities that are not cached get prepared and converted by the delegate
+     */
+    @Override
+    public List<Read> fromEntities(List<Entity> entities) {
+        if (entities == null) {
+            return null;
+        }
+        List<Read> result = new ArrayList<>(entities.size());
+        List<Key> keys = new ArrayList<>(entities.size());
+        List<Entity> misses = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+        for (Entity entity : entities) {
+            Key key = getKey(entity);
+            Read read = key != null ? cache.getIfPresent(key) : null;
+            if (read == null) {
+                misses.add(entity);
+                missIndexes.add(result.size());
+            }
+            keys.add(key);
+            result.add(read);
+        }
+        if (!misses.isEmpty()) {
+            List<Read> converted = delegate.fromEntities(misses);
+            for (int i = 0; i < converted.size(); i++) {
+                int index = missIndexes.get(i);
+                Read read = converted.get(i);
+                result.set(index, read);
+                if (keys.get(index) != null && read != null) {
+                    cache.put(keys.get(index), read);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void prepare(List<Entity> entities) {
+        delegate.prepare(entities);
+    }
+
+    @Override
+    public Entity newEntity(Write write) {
+        return delegate.newEntity(write);
+    }
+
+    @Override
+    public Entity updateEntityFromEdit(Write write, Entity entity) {
+        return delegate.updateEntityFromEdit(write, entity);
+    }
+
+    @Override
+    public Map<String, Object> describeUpdate(Write write) {
+        return delegate.describeUpdate(write);
+    }
+
+    @Override
+    public ParallelConversion getParallelConversion() {
+        return delegate.getParallelConversion();
+    }
+
+    @Override
+    public EntityJsonWriter<Entity> getJsonWriter() {
+        return delegate.getJsonWriter();
+    }
+
+    @Override
+    public int getStreamChunkSize() {
+        return delegate.getStreamChunkSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private Key getKey(Entity entity) {
+        Object id = ETagSupport.getId(entity);
+        Object version = id != null ? ETagSupport.getVersion(entity) : null;
+        if (version == null) {
+            if (id != null && !ETagSupport.hasVersion(entity.getClass()) && unversionedTypes.add(entity.getClass())) {
+                log.warn("{} has no @Version or @LastModifiedDate - {} converts it without caching", entity.getClass().getName(), getClass().getSimpleName());
+            }
+            return null;
+        }
+        return new Key(entity.getClass(), id, version, localeAware ? LocaleContextHolder.getLocale().toLanguageTag() : null);
+    }
+
+    @Value
+    private static class Key {
+        Class<?> type;
+        Object id;
+        Object version;
+        String locale;
+    }
+}
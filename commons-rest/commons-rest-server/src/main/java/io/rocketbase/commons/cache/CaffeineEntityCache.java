@@ -0,0 +1,74 @@
+package io.rocketbase.commons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * size and ttl bounded {@link EntityCache} based on caffeine
+ *
+ * @param <K>      key of the entity
+ * @param <Entity> database entity
+ */
+public class CaffeineEntityCache<K, Entity> implements EntityCache<K, Entity> {
+
+    private final Cache<K, Entity> cache;
+
+    /**
+     * @param maximumSize      maximum count of cached entities
+     * @param expireAfterWrite time after which an entity gets reloaded - covers writes that don't pass the controller
+     */
+    public CaffeineEntityCache(long maximumSize, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Entity get(K key, Function<K, Entity> loader) {
+        return cache.get(key, loader);
+    }
+
+    @Override
+    public void put(K key, Entity entity) {
+        if (entity == null) {
+            cache.invalidate(key);
+        } else {
+            cache.put(key, entity);
+        }
+    }
+
+    @Override
+    public void evict(K key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long getHitCount() {
+        return getStats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return getStats().missCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return getStats().evictionCount();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
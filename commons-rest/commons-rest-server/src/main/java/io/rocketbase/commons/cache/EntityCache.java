@@ -0,0 +1,40 @@
+package io.rocketbase.commons.cache;
+
+import java.util.function.Function;
+
+/**
+ * in-process cache for entities used by the CRUD controllers to read through getEntity<br>
+ * cached entities are shared instances - only use it for entities that are read much more often than written
+ *
+ * @param <K>      key of the entity (id or combination of parentId and id)
+ * @param <Entity> database entity
+ */
+public interface EntityCache<K, Entity> {
+
+    /**
+     * lookup cached entity or load it via loader
+     *
+     * @param key    identifier
+     * @param loader loads entity or throws {@link io.rocketbase.commons.exception.NotFoundException} - exceptions are not cached
+     * @return cached or loaded entity
+     */
+    Entity get(K key, Function<K, Entity> loader);
+
+    /**
+     * store the latest state of the entity (write-through)
+     */
+    void put(K key, Entity entity);
+
+    /**
+     * remove entity from cache
+     */
+    void evict(K key);
+
+    void invalidateAll();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+}
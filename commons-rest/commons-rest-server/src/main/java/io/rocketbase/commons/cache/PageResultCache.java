@@ -0,0 +1,126 @@
+package io.rocketbase.commons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.rocketbase.commons.dto.PageableResult;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * size bounded cache for converted {@link PageableResult}s keyed by a canonical signature of the query<br>
+ * eviction is done by caffeine (W-TinyLFU) - so <b>com.github.ben-manes.caffeine:caffeine</b> needs to be on the classpath
+ *
+ * @param <Read> response data object
+ */
+public class PageResultCache<Read> {
+
+    /**
+     * query params that are already part of the parsed {@link Pageable}
+     */
+    public static final Set<String> PAGING_PARAMS = new HashSet<>(Arrays.asList("page", "pageSize", "size", "sort"));
+
+    private final Cache<String, PageableResult<Read>> cache;
+
+    /**
+     * part of each key - a load that started before {@link #invalidateAll()} stores its page under an outdated generation that isn't read anymore
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param maximumSize      maximum count of cached pages
+     * @param expireAfterWrite time after which an entry gets removed - covers writes that don't pass the controller
+     */
+    public PageResultCache(long maximumSize, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * lookup cached page or load it via loader (concurrent calls for the same signature will wait for one loader)
+     *
+     * @param pageable parsed pageable
+     * @param params   all query params of request
+     * @param loader   queries and converts the page in case of a miss
+     * @return cached or fresh loaded page
+     */
+    public PageableResult<Read> get(Pageable pageable, MultiValueMap<String, String> params, Supplier<PageableResult<Read>> loader) {
+        return cache.get(generation.get() + "|" + buildSignature(pageable, params), key -> {
+            PageableResult<Read> result = loader.get();
+            // ensures that lazy converting results hold their converted content
+            result.getContent();
+            return result;
+        });
+    }
+
+    /**
+     * remove all cached pages - should be called after each write of the entity type
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * build a canonical signature of the query: the order of parameters doesn't matter<br>
+     * current locale is part of the signature because conversion could be locale specific
+     *
+     * @param pageable parsed pageable
+     * @param params   all query params of request
+     * @return signature of query
+     */
+    public static String buildSignature(Pageable pageable, MultiValueMap<String, String> params) {
+        StringBuilder signature = new StringBuilder();
+        signature.append(LocaleContextHolder.getLocale().toLanguageTag());
+        if (pageable.isPaged()) {
+            signature.append("|page=").append(pageable.getPageNumber())
+                    .append("|size=").append(pageable.getPageSize());
+        }
+        signature.append("|sort=");
+        for (Sort.Order order : pageable.getSort()) {
+            appendValue(signature, order.getProperty())
+                    .append(',').append(order.getDirection())
+                    .append(',').append(order.isIgnoreCase())
+                    .append(',').append(order.getNullHandling())
+                    .append(';');
+        }
+        if (params != null) {
+            SortedMap<String, List<String>> filters = new TreeMap<>(params);
+            for (Map.Entry<String, List<String>> entry : filters.entrySet()) {
+                if (!PAGING_PARAMS.contains(entry.getKey())) {
+                    appendValue(signature.append('|'), entry.getKey()).append('=');
+                    if (entry.getValue() != null) {
+                        for (String value : entry.getValue()) {
+                            appendValue(signature, value).append(';');
+                        }
+                    }
+                }
+            }
+        }
+        return signature.toString();
+    }
+
+    /**
+     * length prefixed in order to avoid collisions with values containing separators
+     */
+    private static StringBuilder appendValue(StringBuilder signature, String value) {
+        if (value == null) {
+            return signature.append('-');
+        }
+        return signature.append(value.length()).append(':').append(value);
+    }
+}
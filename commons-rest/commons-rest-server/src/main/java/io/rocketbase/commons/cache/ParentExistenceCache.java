@@ -0,0 +1,93 @@
+package io.rocketbase.commons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * size and ttl bounded cache of resolved parents based on caffeine<br>
+ * missing parents are cached as well (with an own ttl) so repeated requests for unknown parents don't hit the database<br>
+ * should be shared between the parent controller (invalidate on update/delete) and its child controllers
+ *
+ * @param <ID>     identifier of the parent
+ * @param <Parent> parent entity
+ */
+public class ParentExistenceCache<ID, Parent> {
+
+    private final Cache<ID, Optional<Parent>> cache;
+
+    /**
+     * @param maximumSize maximum count of cached parent ids
+     * @param positiveTtl time an existing parent is cached
+     * @param negativeTtl time a missing parent is cached - should be short because creates of the parent are not tracked
+     */
+    public ParentExistenceCache(long maximumSize, Duration positiveTtl, Duration negativeTtl) {
+        long positiveNanos = positiveTtl.toNanos();
+        long negativeNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<ID, Optional<Parent>>() {
+                    @Override
+                    public long expireAfterCreate(ID key, Optional<Parent> parent, long currentTime) {
+                        return parent.isPresent() ? positiveNanos : negativeNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ID key, Optional<Parent> parent, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, parent, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ID key, Optional<Parent> parent, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param parentId identifier of the parent
+     * @param loader   loads the parent in case of a cache miss - for example repository::findById
+     * @return parent or empty when missing
+     */
+    public Optional<Parent> get(ID parentId, Function<ID, Optional<Parent>> loader) {
+        return cache.get(parentId, loader);
+    }
+
+    /**
+     * @param parentId identifier of the parent
+     * @param loader   loads the parent in case of a cache miss - for example repository::findById
+     * @return true when the parent exists
+     */
+    public boolean exists(ID parentId, Function<ID, Optional<Parent>> loader) {
+        return get(parentId, loader).isPresent();
+    }
+
+    /**
+     * stores the current state of the parent - for example after it has been created or updated
+     */
+    public void put(ID parentId, Parent parent) {
+        cache.put(parentId, Optional.ofNullable(parent));
+    }
+
+    /**
+     * should be called after the parent has been updated or deleted
+     */
+    public void invalidate(ID parentId) {
+        cache.invalidate(parentId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
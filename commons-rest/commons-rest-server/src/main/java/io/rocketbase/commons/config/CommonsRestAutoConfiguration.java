@@ -4,16 +4,30 @@ import io.rocketbase.commons.controller.exceptionhandler.BadRequestExceptionHand
 import io.rocketbase.commons.controller.exceptionhandler.BeanValidationExceptionHandler;
 import io.rocketbase.commons.controller.exceptionhandler.InsufficientPrivilegesExceptionHandler;
 import io.rocketbase.commons.controller.exceptionhandler.NotFoundExceptionHandler;
+import io.rocketbase.commons.controller.exceptionhandler.RejectedExecutionExceptionHandler;
+import io.rocketbase.commons.controller.exceptionhandler.ServiceUnavailableExceptionHandler;
+import io.rocketbase.commons.idempotency.CaffeineIdempotencyStore;
+import io.rocketbase.commons.idempotency.IdempotencyFilter;
+import io.rocketbase.commons.idempotency.IdempotencyInterceptor;
+import io.rocketbase.commons.idempotency.IdempotencyStore;
+import io.rocketbase.commons.limit.AdaptiveConcurrencyInterceptor;
+import io.rocketbase.commons.limit.GradientLimiter;
+import io.rocketbase.commons.limit.LimiterMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 
@@ -67,4 +81,88 @@ public class CommonsRestAutoConfiguration {
         return new InsufficientPrivilegesExceptionHandler();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "handler.rejectedExecution.enabled", matchIfMissing = true)
+    public RejectedExecutionExceptionHandler rejectedExecutionExceptionHandler() {
+        return new RejectedExecutionExceptionHandler();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "handler.serviceUnavailable.enabled", matchIfMissing = true)
+    public ServiceUnavailableExceptionHandler serviceUnavailableExceptionHandler() {
+        return new ServiceUnavailableExceptionHandler();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "limiter.enabled")
+    public static class LimiterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AdaptiveConcurrencyInterceptor adaptiveConcurrencyInterceptor(@Value("${limiter.initialLimit:" + GradientLimiter.DEFAULT_INITIAL_LIMIT + "}") int initialLimit,
+                                                                             @Value("${limiter.minLimit:" + GradientLimiter.DEFAULT_MIN_LIMIT + "}") int minLimit,
+                                                                             @Value("${limiter.maxLimit:" + GradientLimiter.DEFAULT_MAX_LIMIT + "}") int maxLimit,
+                                                                             @Value("${limiter.writeShare:0.8}") double writeShare,
+                                                                             @Value("${limiter.bulkShare:0.5}") double bulkShare) {
+            return new AdaptiveConcurrencyInterceptor(initialLimit, minLimit, maxLimit, writeShare, bulkShare);
+        }
+
+        @Bean
+        public WebMvcConfigurer adaptiveConcurrencyConfigurer(AdaptiveConcurrencyInterceptor adaptiveConcurrencyInterceptor) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(adaptiveConcurrencyInterceptor);
+                }
+            };
+        }
+
+        @Configuration
+        @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+        public static class LimiterMetricsConfiguration {
+
+            @Bean
+            public LimiterMetrics limiterMetrics(AdaptiveConcurrencyInterceptor adaptiveConcurrencyInterceptor) {
+                return new LimiterMetrics(adaptiveConcurrencyInterceptor);
+            }
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "idempotency.enabled")
+    public static class IdempotencyConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public IdempotencyStore idempotencyStore(@Value("${idempotency.maximumSize:10000}") long maximumSize,
+                                                 @Value("${idempotency.ttl:24h}") Duration ttl) {
+            return new CaffeineIdempotencyStore(maximumSize, ttl);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public IdempotencyInterceptor idempotencyInterceptor(IdempotencyStore idempotencyStore,
+                                                             @Value("${idempotency.waitTimeout:10s}") Duration waitTimeout) {
+            return new IdempotencyInterceptor(idempotencyStore, waitTimeout);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public IdempotencyFilter idempotencyFilter(@Value("${idempotency.maxResponseSize:64KB}") DataSize maxResponseSize) {
+            return new IdempotencyFilter((int) maxResponseSize.toBytes());
+        }
+
+        @Bean
+        public WebMvcConfigurer idempotencyConfigurer(IdempotencyInterceptor idempotencyInterceptor) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(idempotencyInterceptor);
+                }
+            };
+        }
+    }
+
 }
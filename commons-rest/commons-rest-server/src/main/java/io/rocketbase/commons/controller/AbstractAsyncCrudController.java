@@ -0,0 +1,192 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.async.BoundedExecutor;
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.exception.NotFoundException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * CRUD controller that executes all repository calls on a bounded executor and releases the servlet thread meanwhile<br>
+ * in case the executor is saturated requests get rejected with 503 instead of blocking further container threads<br>
+ * <b>doesn't support the entity/page caches, ETags and change events of {@link AbstractCrudController}</b> - use afterCreate/afterUpdate/afterDelete to invalidate own caches
+ *
+ * @param <Entity>    database entity
+ * @param <Read>      response data object
+ * @param <Write>     object with all properties that are changeable
+ * @param <ID>        class of the identifier
+ * @param <Converter> interface that allows converting between Entity, Read and Write
+ */
+public abstract class AbstractAsyncCrudController<Entity, Read, Write, ID extends Serializable, Converter extends EntityReadWriteConverter<Entity, Read, Write>> implements BaseController, DisposableBean {
+
+    @Getter(AccessLevel.PROTECTED)
+    private final PagingAndSortingRepository<Entity, ID> repository;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final Converter converter;
+
+    @Getter
+    private final BoundedExecutor executor;
+
+    /**
+     * uses an executor with {@link BoundedExecutor#DEFAULT_THREADS} threads and a queue of {@link BoundedExecutor#DEFAULT_QUEUE_CAPACITY}
+     */
+    public AbstractAsyncCrudController(PagingAndSortingRepository<Entity, ID> repository, Converter converter) {
+        this(repository, converter, BoundedExecutor.DEFAULT_THREADS, BoundedExecutor.DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param threads       maximum count of parallel repository calls of this controller
+     * @param queueCapacity maximum count of waiting requests before they get rejected
+     */
+    public AbstractAsyncCrudController(PagingAndSortingRepository<Entity, ID> repository, Converter converter, int threads, int queueCapacity) {
+        this.repository = repository;
+        this.converter = converter;
+        this.executor = new BoundedExecutor(getClass().getSimpleName(), threads, queueCapacity);
+    }
+
+    /**
+     * @param executor own executor - for example with virtual threads via new BoundedExecutor(name, threads, queueCapacity, VirtualThreads.threadFactory(name))
+     */
+    public AbstractAsyncCrudController(PagingAndSortingRepository<Entity, ID> repository, Converter converter, BoundedExecutor executor) {
+        this.repository = repository;
+        this.converter = converter;
+        this.executor = executor;
+    }
+
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    public CompletableFuture<PageableResult<Read>> find(@RequestParam(required = false) MultiValueMap<String, String> params) {
+        Pageable pageable = parsePageRequest(params, getDefaultSort());
+        return supplyAsync(() -> toPageableResult(repository.findAll(pageable)));
+    }
+
+    @RequestMapping(method = RequestMethod.GET, path = "/{id}")
+    @ResponseBody
+    public CompletableFuture<Read> getById(@PathVariable("id") ID id) {
+        return supplyAsync(() -> converter.fromEntity(getEntity(id)));
+    }
+
+    @RequestMapping(method = RequestMethod.POST, consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    @ResponseStatus(value = HttpStatus.CREATED)
+    public CompletableFuture<Read> create(@RequestBody @NotNull @Validated Write write) {
+        return supplyAsync(() -> {
+            Entity entity = repository.save(converter.newEntity(write));
+            afterCreate(entity);
+            return converter.fromEntity(entity);
+        });
+    }
+
+    @RequestMapping(method = RequestMethod.PUT, path = "/{id}", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public CompletableFuture<Read> update(@PathVariable ID id, @RequestBody @NotNull @Validated Write write) {
+        return supplyAsync(() -> {
+            Entity entity = getEntity(id);
+            converter.updateEntityFromEdit(write, entity);
+            Entity saved = repository.save(entity);
+            afterUpdate(saved);
+            return converter.fromEntity(saved);
+        });
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE, path = "/{id}")
+    public CompletableFuture<Void> delete(@PathVariable("id") ID id) {
+        return supplyAsync(() -> {
+            repository.delete(getEntity(id));
+            afterDelete(id);
+            return null;
+        });
+    }
+
+    /**
+     * runs the supplier on the {@link #getExecutor()} - locale and request attributes of the calling thread are available during the execution
+     *
+     * @throws java.util.concurrent.RejectedExecutionException when the executor is saturated
+     */
+    protected <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return CompletableFuture.supplyAsync(() -> {
+            LocaleContext previousLocale = LocaleContextHolder.getLocaleContext();
+            RequestAttributes previousRequest = RequestContextHolder.getRequestAttributes();
+            LocaleContextHolder.setLocaleContext(localeContext);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return supplier.get();
+            } finally {
+                LocaleContextHolder.setLocaleContext(previousLocale);
+                RequestContextHolder.setRequestAttributes(previousRequest);
+            }
+        }, executor);
+    }
+
+    /**
+     * @return default sort in case nothing is given via parameter
+     */
+    protected Sort getDefaultSort() {
+        return Sort.unsorted();
+    }
+
+    /**
+     * converts a page of entities into the response - executed on the executor
+     */
+    protected PageableResult<Read> toPageableResult(Page<Entity> entities) {
+        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+    }
+
+    /**
+     * get by Id or throw {@link NotFoundException} - executed on the executor
+     *
+     * @param id unique identifier
+     * @return entity
+     */
+    protected Entity getEntity(ID id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new NotFoundException());
+    }
+
+    /**
+     * called after an entity has been created by this controller
+     */
+    protected void afterCreate(Entity entity) {
+    }
+
+    /**
+     * called after an entity has been updated by this controller
+     */
+    protected void afterUpdate(Entity entity) {
+    }
+
+    /**
+     * called after an entity has been deleted by this controller
+     */
+    protected void afterDelete(ID id) {
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,22 +1,74 @@
 package io.rocketbase.commons.controller;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.rocketbase.commons.batch.GroupCommitter;
+import io.rocketbase.commons.batch.PartialBatchWriteException;
+import io.rocketbase.commons.cache.EntityCache;
+import io.rocketbase.commons.cache.PageResultCache;
+import io.rocketbase.commons.converter.EntityJson;
+import io.rocketbase.commons.converter.EntityJsonWriter;
 import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.ConvertingPageableResult;
+import io.rocketbase.commons.dto.ErrorResponse;
 import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.dto.batch.BatchResult;
+import io.rocketbase.commons.dto.batch.BatchResultItem;
+import io.rocketbase.commons.dto.batch.ImportResult;
+import io.rocketbase.commons.dto.event.ChangeType;
+import io.rocketbase.commons.etag.ETagStrategy;
+import io.rocketbase.commons.event.ChangeEventBus;
+import io.rocketbase.commons.event.ChangeEventSubscriber;
+import io.rocketbase.commons.etag.ETagSupport;
+import io.rocketbase.commons.exception.BadRequestException;
+import io.rocketbase.commons.exception.ErrorCodes;
+import io.rocketbase.commons.exception.InsufficientPrivilegesException;
+import io.rocketbase.commons.exception.NotFoundException;
+import io.rocketbase.commons.patch.MergePatch;
+import io.rocketbase.commons.patch.MergePatchSupport;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 
 /**
@@ -31,27 +83,164 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @RequiredArgsConstructor
 public abstract class AbstractBaseCrudController<Entity, Read, Write, ID extends Serializable, Converter extends EntityReadWriteConverter<Entity, Read, Write>> implements BaseController {
 
+    private static final Set<String> CONFLICT_EXCEPTIONS = new HashSet<>(Arrays.asList("org.springframework.dao.ConcurrencyFailureException",
+            "org.springframework.dao.DuplicateKeyException"));
+
     @Getter(AccessLevel.PROTECTED)
     private final PagingAndSortingRepository<Entity, ID> repository;
 
     @Getter(AccessLevel.PROTECTED)
     private final Converter converter;
 
+    @Getter(AccessLevel.PROTECTED)
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
+    @Getter(AccessLevel.PROTECTED)
+    @Autowired(required = false)
+    private Validator validator;
+
+    private Class<Write> writeClass;
+
     @RequestMapping(method = RequestMethod.GET)
     @ResponseBody
     public PageableResult<Read> find(@RequestParam(required = false) MultiValueMap<String, String> params) {
-        Page<Entity> entities = repository.findAll(parsePageRequest(params, getDefaultSort()));
-        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+        Pageable pageable = parsePageRequest(params, getDefaultSort());
+        PageResultCache<Read> pageResultCache = getPageResultCache();
+        if (pageResultCache != null) {
+            PageableResult<Read> result = pageResultCache.get(pageable, params, () -> toPageableResult(repository.findAll(pageable)));
+            return checkNotModified(getBodyETag(result)) ? null : result;
+        }
+        Page<Entity> entities = repository.findAll(pageable);
+        String eTag = getPageETag(entities);
+        if (checkNotModified(eTag)) {
+            return null;
+        }
+        PageableResult<Read> result = toPageableResult(entities);
+        if (eTag == null && checkNotModified(getBodyETag(result))) {
+            return null;
+        }
+        return result;
     }
 
     @RequestMapping(method = RequestMethod.POST, consumes = APPLICATION_JSON_VALUE)
     @ResponseBody
     @ResponseStatus(value = HttpStatus.CREATED)
     public Read create(@RequestBody @NotNull @Validated Write write) {
-        Entity entity = repository.save(converter.newEntity(write));
+        Entity entity = saveNewEntity(converter.newEntity(write));
+        afterCreate(entity);
         return converter.fromEntity(entity);
     }
 
+    /**
+     * creates all entries in chunks of {@link #getBatchChunkSize()} - invalid entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/batch", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> createBatch(@RequestBody @NotNull List<Write> writes) {
+        checkBatchSize(writes.size());
+        List<BatchResultItem<Read>> items = new ArrayList<>(Collections.nCopies(writes.size(), null));
+        int chunkSize = getBatchChunkSize();
+        for (int from = 0; from < writes.size(); from += chunkSize) {
+            List<Integer> indexes = new ArrayList<>();
+            List<Entity> entities = new ArrayList<>();
+            for (int i = from; i < Math.min(from + chunkSize, writes.size()); i++) {
+                try {
+                    validateBatchItem(writes.get(i));
+                    entities.add(converter.newEntity(writes.get(i)));
+                    indexes.add(i);
+                } catch (RuntimeException e) {
+                    items.set(i, toBatchFailure(i, e));
+                }
+            }
+            storeBatchChunk(indexes, entities, HttpStatus.CREATED, items, (index, entity) -> afterCreate(entity));
+        }
+        return new BatchResult<>(items);
+    }
+
+    /**
+     * streaming import of newline delimited json - each line is a Write that gets validated and stored in chunks of {@link #getBatchChunkSize()}<br>
+     * the body is read entry by entry and not before the previous chunk is stored, so a slow database slows down the upload instead of filling the memory
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/import", consumes = APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public ImportResult<Read> importEntities(InputStream body) throws IOException {
+        ImportResult<Read> result = new ImportResult<>();
+        int chunkSize = getBatchChunkSize();
+        List<Entity> entities = new ArrayList<>(chunkSize);
+        List<Integer> indexes = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (MappingIterator<Write> iterator = getRequiredObjectMapper().readerFor(getWriteClass()).readValues(body)) {
+            while (true) {
+                Write write;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    write = iterator.nextValue();
+                } catch (JsonMappingException e) {
+                    // invalid values - the iterator continues with the next entry
+                    addImportFailure(result, toBatchFailure(index++, new BadRequestException(new ErrorResponse(BAD_REQUEST.value(), e.getOriginalMessage()))));
+                    continue;
+                } catch (JsonParseException e) {
+                    // malformed json - the rest of the body can't be read
+                    addImportFailure(result, toBatchFailure(index, new BadRequestException(new ErrorResponse(BAD_REQUEST.value(), e.getOriginalMessage()))));
+                    break;
+                }
+                try {
+                    validateBatchItem(write);
+                    entities.add(converter.newEntity(write));
+                    indexes.add(index);
+                } catch (RuntimeException e) {
+                    addImportFailure(result, toBatchFailure(index, e));
+                }
+                index++;
+                if (entities.size() >= chunkSize) {
+                    storeImportChunk(indexes, entities, result);
+                }
+            }
+        }
+        storeImportChunk(indexes, entities, result);
+        return result;
+    }
+
+    /**
+     * server-sent events of all created, updated and deleted entities - only available when {@link #getChangeEventBus()} is configured<br>
+     * clients can resume with the header Last-Event-ID
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/events", produces = TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        ChangeEventBus<Read> changeEventBus = getChangeEventBus();
+        if (changeEventBus == null) {
+            throw new NotFoundException();
+        }
+        SseEmitter emitter = new SseEmitter(getChangeEventTimeout());
+        ChangeEventSubscriber<Read> subscriber = event -> emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getEventId()))
+                .name(event.getType().name().toLowerCase())
+                .data(event, MediaType.APPLICATION_JSON));
+        emitter.onCompletion(() -> changeEventBus.unsubscribe(subscriber));
+        emitter.onTimeout(() -> changeEventBus.unsubscribe(subscriber));
+        emitter.onError(e -> changeEventBus.unsubscribe(subscriber));
+        changeEventBus.subscribe(parseLastEventId(lastEventId), subscriber);
+        return emitter;
+    }
+
+    /**
+     * @param lastEventId value of header Last-Event-ID
+     * @return parsed id - null when missing, ids that can't be parsed are treated as outdated and get a RESYNC
+     */
+    private Long parseLastEventId(String lastEventId) {
+        if (!StringUtils.hasText(lastEventId)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
     /**
      * @return default sort in case nothing is given via parameter
      */
@@ -59,5 +248,655 @@ public abstract class AbstractBaseCrudController<Entity, Read, Write, ID extends
         return Sort.unsorted();
     }
 
+    /**
+     * converts a page of entities into the response - by default the whole content gets converted at once, with a json writer of the converter the entities are written during serialization<br>
+     * return {@link ConvertingPageableResult#of(Page, EntityReadWriteConverter)} in order to convert and write the content element by element during serialization
+     *
+     * @param entities page of entities
+     * @return wrapped and converted page
+     */
+    protected PageableResult<Read> toPageableResult(Page<Entity> entities) {
+        if (converter.getJsonWriter() != null) {
+            return ConvertingPageableResult.of(entities, converter);
+        }
+        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+    }
+
+    /**
+     * writes the entity via {@link EntityReadWriteConverter#getJsonWriter()} straight into the response of the current request - the controller should return null afterwards<br>
+     * handles If-None-Match for {@link ETagStrategy#VERSION_OR_BODY} when no version ETag is given
+     *
+     * @param entity database entity
+     * @param eTag   version ETag that has been checked already - null when not available
+     * @return false when no json writer is configured, the client doesn't accept json or the response is not accessible
+     */
+    @SneakyThrows
+    protected boolean writeJson(Entity entity, String eTag) {
+        EntityJsonWriter<Entity> jsonWriter = converter.getJsonWriter();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (jsonWriter == null || objectMapper == null || entity == null || !(attributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response == null || !acceptsJson(((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.ACCEPT))) {
+            return false;
+        }
+        EntityJson<Entity> json = new EntityJson<>(entity, jsonWriter);
+        if (eTag == null && checkNotModified(getBodyETag(json))) {
+            return true;
+        }
+        response.setContentType(APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), json);
+        return true;
+    }
+
+    private static boolean acceptsJson(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(m -> m.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * opt-in cache for {@link #find(MultiValueMap)} - by default disabled<br>
+     * return an instance that is held by the controller in order to enable it
+     *
+     * @return null or cache for converted pages
+     */
+    protected PageResultCache<Read> getPageResultCache() {
+        return null;
+    }
+
+    /**
+     * strategy used to compute ETags for conditional GET requests - by default disabled<br>
+     * only use {@link ETagStrategy#VERSION} when the Read doesn't embed referenced entities, their changes don't touch the version of this entity
+     *
+     * @return strategy - NONE when not overwritten
+     */
+    protected ETagStrategy getETagStrategy() {
+        return ETagStrategy.NONE;
+    }
+
+    /**
+     * ETag of a single entity that is checked before conversion<br>
+     * should be overwritten when the response contains data of referenced entities with own versions
+     *
+     * @param entity database entity
+     * @return ETag or null when not available
+     */
+    protected String getETag(Entity entity) {
+        return getETagStrategy() != ETagStrategy.NONE ? ETagSupport.versionETag(entity) : null;
+    }
+
+    /**
+     * ETag of a page of entities that is checked before conversion
+     *
+     * @param entities page of entities
+     * @return ETag or null when not available
+     */
+    protected String getPageETag(Page<Entity> entities) {
+        return getETagStrategy() != ETagStrategy.NONE ? ETagSupport.versionETag(entities) : null;
+    }
+
+    /**
+     * ETag based on the serialized response - only used by {@link ETagStrategy#VERSION_OR_BODY}
+     *
+     * @param body converted response
+     * @return ETag or null when not available
+     */
+    protected String getBodyETag(Object body) {
+        if (getETagStrategy() != ETagStrategy.VERSION_OR_BODY || objectMapper == null || body == null) {
+            return null;
+        }
+        return ETagSupport.bodyETag(objectMapper, body);
+    }
+
+    /**
+     * sets the ETag header and checks If-None-Match of the current request
+     *
+     * @param eTag computed ETag - null will be ignored
+     * @return true when response status is set to 304 and the controller should return without body
+     */
+    protected boolean checkNotModified(String eTag) {
+        return ETagSupport.checkNotModified(eTag);
+    }
+
+    /**
+     * opt-in cache for single entities used by getById - writes load their own instance via loadEntity and only put the saved result<br>
+     * return the same instance on each call - for example {@link io.rocketbase.commons.cache.CaffeineEntityCache}
+     *
+     * @return null by default - disables caching
+     */
+    protected EntityCache<ID, Entity> getEntityCache() {
+        return null;
+    }
+
+    /**
+     * runs the write and puts the saved entity into {@link #getEntityCache()} - evicts it in case of an error
+     *
+     * @param id    identifier of the entity
+     * @param write stores the entity
+     * @return saved entity
+     */
+    protected Entity writeThrough(ID id, Supplier<Entity> write) {
+        EntityCache<ID, Entity> entityCache = getEntityCache();
+        try {
+            Entity saved = write.get();
+            if (entityCache != null) {
+                entityCache.put(id, saved);
+            }
+            return saved;
+        } catch (RuntimeException e) {
+            if (entityCache != null) {
+                entityCache.evict(id);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param id identifier of the entity that should be removed from {@link #getEntityCache()}
+     */
+    protected void evictEntity(ID id) {
+        EntityCache<ID, Entity> entityCache = getEntityCache();
+        if (entityCache != null) {
+            entityCache.evict(id);
+        }
+    }
+
+    /**
+     * @return identifier of the entity - by default the value of the field annotated with @Id
+     */
+    @SuppressWarnings("unchecked")
+    protected ID getId(Entity entity) {
+        return (ID) ETagSupport.getId(entity);
+    }
+
+    /**
+     * @return count of entities that are stored/deleted by a single saveAll/deleteAllById of batch requests
+     */
+    protected int getBatchChunkSize() {
+        return 500;
+    }
+
+    /**
+     * @return maximum count of entries within a single batch request
+     */
+    protected int getBatchMaxSize() {
+        return 10000;
+    }
+
+    /**
+     * opt-in group commit for {@link #create(Object)} - by default disabled<br>
+     * return an instance that is held by the controller, for example new GroupCommitter&lt;&gt;("company-create", entities -&gt; MongoBatchSupport.saveAll(mongoTemplate, entities), 100, Duration.ofMillis(5)), and close it on destroy<br>
+     * the saveAll has to be atomic or report failed entities via {@link PartialBatchWriteException} - it runs on the flushing thread without the SecurityContext and transaction of the request
+     *
+     * @return null or committer that collects concurrent creates into one saveAll
+     */
+    protected GroupCommitter<Entity> getGroupCommitter() {
+        return null;
+    }
+
+    /**
+     * stores the new entity of {@link #create(Object)} - passes {@link #getGroupCommitter()} when configured
+     *
+     * @param entity new entity
+     * @return saved entity
+     */
+    protected Entity saveNewEntity(Entity entity) {
+        GroupCommitter<Entity> groupCommitter = getGroupCommitter();
+        return groupCommitter != null ? groupCommitter.save(entity) : repository.save(entity);
+    }
+
+    /**
+     * stores a chunk of entities of a batch request - by default via repository.saveAll<br>
+     * use {@link io.rocketbase.commons.batch.MongoBatchSupport} for unordered bulk writes - throw {@link PartialBatchWriteException} to report single failed entities
+     *
+     * @param entities new or changed entities
+     * @return saved entities in the same order
+     */
+    protected List<Entity> saveBatchChunk(List<Entity> entities) {
+        List<Entity> result = new ArrayList<>(entities.size());
+        repository.saveAll(entities).forEach(result::add);
+        return result;
+    }
+
+    /**
+     * deletes a chunk of existing entities of a batch request - by default via repository.deleteAllById
+     *
+     * @param ids identifiers of existing entities
+     */
+    protected void deleteBatchChunk(List<ID> ids) {
+        repository.deleteAllById(ids);
+    }
+
+    /**
+     * updates the entities of the given ids in chunks of {@link #getBatchChunkSize()}
+     *
+     * @param ids    identifiers - same size and order like writes
+     * @param writes changes for each id
+     * @return result per entry
+     */
+    protected BatchResult<Read> updateBatchItems(List<ID> ids, List<Write> writes) {
+        checkBatchSize(ids.size());
+        List<BatchResultItem<Read>> items = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        int chunkSize = getBatchChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, ids.size());
+            Map<ID, Entity> loaded = loadEntities(ids.subList(from, to));
+            List<Integer> indexes = new ArrayList<>();
+            List<Entity> entities = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                try {
+                    Entity entity = loaded.get(ids.get(i));
+                    if (entity == null) {
+                        throw new NotFoundException();
+                    }
+                    validateBatchItem(writes.get(i));
+                    converter.updateEntityFromEdit(writes.get(i), entity);
+                    entities.add(entity);
+                    indexes.add(i);
+                } catch (RuntimeException e) {
+                    items.set(i, toBatchFailure(i, e));
+                }
+            }
+            storeBatchChunk(indexes, entities, HttpStatus.OK, items, (index, entity) -> {
+                EntityCache<ID, Entity> entityCache = getEntityCache();
+                if (entityCache != null) {
+                    entityCache.put(ids.get(index), entity);
+                }
+                afterUpdate(entity);
+            });
+        }
+        return new BatchResult<>(items);
+    }
+
+    /**
+     * deletes the entities of the given ids in chunks of {@link #getBatchChunkSize()} - missing ids are reported with 404
+     *
+     * @param ids identifiers
+     * @return result per entry
+     */
+    protected BatchResult<Read> deleteBatchItems(List<ID> ids) {
+        checkBatchSize(ids.size());
+        List<BatchResultItem<Read>> items = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        int chunkSize = getBatchChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, ids.size());
+            Map<ID, Entity> loaded = loadEntities(ids.subList(from, to));
+            RuntimeException chunkError = null;
+            if (!loaded.isEmpty()) {
+                try {
+                    deleteBatchChunk(new ArrayList<>(loaded.keySet()));
+                } catch (RuntimeException e) {
+                    chunkError = e;
+                }
+            }
+            for (int i = from; i < to; i++) {
+                ID id = ids.get(i);
+                if (loaded.remove(id) == null) {
+                    items.set(i, toBatchFailure(i, new NotFoundException()));
+                } else if (chunkError != null) {
+                    items.set(i, toBatchFailure(i, chunkError));
+                } else {
+                    items.set(i, BatchResultItem.success(i, HttpStatus.NO_CONTENT.value(), null));
+                    evictEntity(id);
+                    afterDelete(id);
+                }
+            }
+        }
+        return new BatchResult<>(items);
+    }
+
+    /**
+     * loads the entities of the given ids with one findAllById per chunk of {@link #getBatchChunkSize()} and converts them at once
+     *
+     * @param ids identifiers
+     * @return result per id in the same order - missing ids are reported with 404
+     */
+    protected BatchResult<Read> lookupItems(List<ID> ids) {
+        checkBatchSize(ids.size());
+        List<BatchResultItem<Read>> items = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        int chunkSize = getBatchChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, ids.size());
+            Map<ID, Entity> loaded = loadEntities(ids.subList(from, to));
+            List<Integer> indexes = new ArrayList<>();
+            List<Entity> entities = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Entity entity = loaded.get(ids.get(i));
+                if (entity == null) {
+                    items.set(i, toBatchFailure(i, new NotFoundException()));
+                } else {
+                    indexes.add(i);
+                    entities.add(entity);
+                }
+            }
+            List<Read> reads = converter.fromEntities(entities);
+            for (int k = 0; k < reads.size(); k++) {
+                items.set(indexes.get(k), BatchResultItem.success(indexes.get(k), HttpStatus.OK.value(), reads.get(k)));
+            }
+        }
+        return new BatchResult<>(items);
+    }
+
+    /**
+     * loads the entities of a batch chunk with a single findAllById
+     *
+     * @param ids identifiers - null values are ignored
+     * @return found entities by id
+     */
+    protected Map<ID, Entity> loadEntities(List<ID> ids) {
+        List<ID> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<ID, Entity> result = new HashMap<>();
+        if (distinct.isEmpty()) {
+            return result;
+        }
+        for (Entity entity : repository.findAllById(distinct)) {
+            ID id = getId(entity);
+            if (id == null) {
+                // id of the entity can't be resolved - fallback to single lookups
+                result.clear();
+                for (ID each : distinct) {
+                    repository.findById(each).ifPresent(e -> result.put(each, e));
+                }
+                return result;
+            }
+            result.put(id, entity);
+        }
+        return result;
+    }
+
+    /**
+     * validates a single entry of a batch request with the bean validator
+     *
+     * @param write entry of the request
+     * @throws BadRequestException in case of errors
+     */
+    protected void validateBatchItem(Write write) {
+        if (write == null) {
+            throw new BadRequestException(new ErrorResponse(BAD_REQUEST.value(), "entry is empty"));
+        }
+        if (validator == null) {
+            return;
+        }
+        Set<ConstraintViolation<Write>> violations = validator.validate(write);
+        if (!violations.isEmpty()) {
+            ErrorResponse errorResponse = new ErrorResponse(ErrorCodes.FORM_ERROR.getStatus(), "invalid form");
+            for (ConstraintViolation<Write> violation : violations) {
+                errorResponse.addField(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            throw new BadRequestException(errorResponse);
+        }
+    }
+
+    /**
+     * converts an exception of a single entry into its failed {@link BatchResultItem}
+     *
+     * @param index position of the entry within the request
+     * @param e     occurred exception
+     * @return failed item with http status and error
+     */
+    protected BatchResultItem<Read> toBatchFailure(int index, RuntimeException e) {
+        if (e instanceof BadRequestException) {
+            ErrorResponse errorResponse = ((BadRequestException) e).getErrorResponse();
+            return BatchResultItem.failure(index, BAD_REQUEST.value(), errorResponse != null ? errorResponse : new ErrorResponse(BAD_REQUEST.value(), BAD_REQUEST.getReasonPhrase()));
+        }
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        if (e instanceof NotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof InsufficientPrivilegesException) {
+            status = HttpStatus.FORBIDDEN;
+        } else if (isConflict(e)) {
+            status = HttpStatus.CONFLICT;
+        }
+        return BatchResultItem.failure(index, status.value(), new ErrorResponse(status.value(), status.getReasonPhrase()));
+    }
+
+    /**
+     * checks by name - spring-tx is only an optional dependency
+     */
+    private boolean isConflict(RuntimeException e) {
+        for (Class<?> type = e.getClass(); type != null; type = type.getSuperclass()) {
+            if (CONFLICT_EXCEPTIONS.contains(type.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > getBatchMaxSize()) {
+            throw new BadRequestException(new ErrorResponse(BAD_REQUEST.value(), "batch exceeds maximum size of " + getBatchMaxSize()));
+        }
+    }
+
+    /**
+     * @return maximum count of failures listed within the {@link ImportResult} - further failures are only counted
+     */
+    protected int getImportMaxFailures() {
+        return 100;
+    }
+
+    private void addImportFailure(ImportResult<Read> result, BatchResultItem<Read> failure) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getFailures().size() < getImportMaxFailures()) {
+            result.getFailures().add(failure);
+        }
+    }
+
+    /**
+     * saves and clears the chunk - in case the chunk fails all of its entries are reported with the error<br>
+     * a {@link PartialBatchWriteException} only reports the failed entries
+     */
+    private void storeImportChunk(List<Integer> indexes, List<Entity> entities, ImportResult<Read> result) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try {
+            List<Entity> saved = saveBatchChunk(entities);
+            result.setCreated(result.getCreated() + saved.size());
+            saved.forEach(this::afterCreate);
+        } catch (PartialBatchWriteException e) {
+            for (int k = 0; k < entities.size(); k++) {
+                if (e.isStored(k)) {
+                    result.setCreated(result.getCreated() + 1);
+                    afterCreate(entities.get(k));
+                } else {
+                    addImportFailure(result, toBatchFailure(indexes.get(k), e.getFailures().get(k)));
+                }
+            }
+        } catch (RuntimeException e) {
+            indexes.forEach(index -> addImportFailure(result, toBatchFailure(index, e)));
+        }
+        indexes.clear();
+        entities.clear();
+    }
+
+    /**
+     * saves a chunk and sets the result items - in case the chunk fails all of its entries are reported with the error<br>
+     * a {@link PartialBatchWriteException} only reports the failed entries, the stored ones are handled like a successful chunk
+     */
+    private void storeBatchChunk(List<Integer> indexes, List<Entity> entities, HttpStatus status, List<BatchResultItem<Read>> items, BiConsumer<Integer, Entity> afterSave) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        List<Entity> saved;
+        try {
+            saved = saveBatchChunk(entities);
+        } catch (PartialBatchWriteException e) {
+            List<Integer> storedIndexes = new ArrayList<>();
+            saved = new ArrayList<>();
+            for (int k = 0; k < entities.size(); k++) {
+                if (e.isStored(k)) {
+                    storedIndexes.add(indexes.get(k));
+                    saved.add(entities.get(k));
+                } else {
+                    items.set(indexes.get(k), toBatchFailure(indexes.get(k), e.getFailures().get(k)));
+                }
+            }
+            indexes = storedIndexes;
+        } catch (RuntimeException e) {
+            indexes.forEach(index -> items.set(index, toBatchFailure(index, e)));
+            return;
+        }
+        for (int k = 0; k < saved.size(); k++) {
+            afterSave.accept(indexes.get(k), saved.get(k));
+        }
+        List<Read> reads = converter.fromEntities(saved);
+        for (int k = 0; k < reads.size(); k++) {
+            items.set(indexes.get(k), BatchResultItem.success(indexes.get(k), status.value(), reads.get(k)));
+        }
+    }
+
+    /**
+     * @return configured ObjectMapper of the application - a plain new instance would ignore its modules and features
+     * @throws IllegalStateException when no ObjectMapper bean is present
+     */
+    protected ObjectMapper getRequiredObjectMapper() {
+        if (objectMapper == null) {
+            throw new IllegalStateException("no ObjectMapper bean available for " + getClass().getName());
+        }
+        return objectMapper;
+    }
+
+    /**
+     * @return class of Write resolved from the generic type arguments of the controller
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<Write> getWriteClass() {
+        if (writeClass == null) {
+            Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), AbstractBaseCrudController.class);
+            if (typeArguments == null || typeArguments[2] == null) {
+                throw new IllegalStateException("could not resolve Write class of " + getClass().getName() + " - override getWriteClass");
+            }
+            writeClass = (Class<Write>) typeArguments[2];
+        }
+        return writeClass;
+    }
+
+    /**
+     * reads the JSON merge patch, validates the touched properties, applies them to the entity and stores them
+     *
+     * @param entity loaded entity
+     * @param patch  merge patch with properties of Write
+     * @return saved entity
+     */
+    protected Entity patchEntity(Entity entity, ObjectNode patch) {
+        MergePatch<Write> mergePatch = MergePatchSupport.read(getRequiredObjectMapper(), patch, getWriteClass());
+        MergePatchSupport.validate(validator, mergePatch);
+        return savePatch(entity, applyPatch(mergePatch, entity));
+    }
+
+    /**
+     * applies the patched properties to the entity - by default properties are copied by name<br>
+     * should be overwritten when properties of Write and Entity differ
+     *
+     * @param patch  parsed merge patch
+     * @param entity loaded entity
+     * @return property names of the entity that have been changed
+     */
+    protected Set<String> applyPatch(MergePatch<Write> patch, Entity entity) {
+        MergePatchSupport.copyProperties(patch, entity);
+        return patch.getProperties();
+    }
+
+    /**
+     * stores the patched entity - by default the whole entity gets saved<br>
+     * use {@link io.rocketbase.commons.patch.MongoPatchSupport} for a targeted $set or @DynamicUpdate for jpa entities
+     *
+     * @param entity     patched entity
+     * @param properties property names of the entity that have been changed
+     * @return saved entity
+     */
+    protected Entity savePatch(Entity entity, Set<String> properties) {
+        return repository.save(entity);
+    }
+
+    /**
+     * opt-in change events for {@link #events(String)} - by default disabled<br>
+     * return an instance that is held by the controller in order to enable it
+     *
+     * @return null or bus that receives the writes of this controller
+     */
+    protected ChangeEventBus<Read> getChangeEventBus() {
+        return null;
+    }
+
+    /**
+     * @return time after which an event stream gets closed - the client reconnects with its Last-Event-ID
+     */
+    protected long getChangeEventTimeout() {
+        return Duration.ofMinutes(10).toMillis();
+    }
+
+    /**
+     * @return identifier of the entity as used within change events
+     */
+    protected String toEventId(ID id) {
+        return id != null ? String.valueOf(id) : null;
+    }
+
+    /**
+     * publishes the change to {@link #getChangeEventBus()} when configured and not fed by an external source
+     *
+     * @param type   kind of change
+     * @param id     identifier of the entity
+     * @param entity current state - null for deletes
+     */
+    protected void publishChange(ChangeType type, ID id, Entity entity) {
+        ChangeEventBus<Read> changeEventBus = getChangeEventBus();
+        if (changeEventBus != null && changeEventBus.isControllerPublishing()) {
+            changeEventBus.publish(type, toEventId(id), entity != null ? converter.fromEntity(entity) : null);
+        }
+    }
+
+    /**
+     * called after an entity has been created by this controller
+     *
+     * @param entity saved entity
+     */
+    protected void afterCreate(Entity entity) {
+        afterWrite();
+        publishChange(ChangeType.CREATED, getId(entity), entity);
+    }
+
+    /**
+     * called after an entity has been updated by this controller
+     *
+     * @param entity saved entity
+     */
+    protected void afterUpdate(Entity entity) {
+        afterWrite();
+        publishChange(ChangeType.UPDATED, getId(entity), entity);
+    }
+
+    /**
+     * called after an entity has been deleted by this controller
+     *
+     * @param id identifier of the deleted entity
+     */
+    protected void afterDelete(ID id) {
+        afterWrite();
+        publishChange(ChangeType.DELETED, id, null);
+    }
+
+    /**
+     * called after each write - invalidates the {@link #getPageResultCache()}
+     */
+    protected void afterWrite() {
+        PageResultCache<Read> pageResultCache = getPageResultCache();
+        if (pageResultCache != null) {
+            pageResultCache.invalidateAll();
+        }
+    }
+
 
 }
@@ -1,7 +1,11 @@
 package io.rocketbase.commons.controller;
 
+import io.rocketbase.commons.cache.EntityCache;
+import io.rocketbase.commons.cache.ParentExistenceCache;
 import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.ConvertingPageableResult;
 import io.rocketbase.commons.dto.PageableResult;
+import io.rocketbase.commons.exception.NotFoundException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +13,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.util.Pair;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.MultiValueMap;
 import org.springframework.validation.annotation.Validated;
@@ -16,6 +21,8 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
+import java.util.Optional;
+import java.util.function.Function;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -42,13 +49,13 @@ public abstract class AbstractCrudChildController<Entity, Read, Write, ID extend
     @ResponseBody
     public PageableResult<Read> find(@PathVariable("parentId") ID parentId, @RequestParam(required = false) MultiValueMap<String, String> params) {
         Page<Entity> entities = findAllByParentId(parentId, parsePageRequest(params, getDefaultSort()));
-        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+        return toPageableResult(entities);
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/{id}")
     @ResponseBody
     public Read getById(@PathVariable("parentId") ID parentId, @PathVariable("id") ID id) {
-        Entity entity = getEntity(parentId, id);
+        Entity entity = getCachedEntity(parentId, id);
         return converter.fromEntity(entity);
     }
 
@@ -63,16 +70,33 @@ public abstract class AbstractCrudChildController<Entity, Read, Write, ID extend
     @RequestMapping(method = RequestMethod.PUT, path = "/{id}", consumes = APPLICATION_JSON_VALUE)
     @ResponseBody
     public Read update(@PathVariable("parentId") ID parentId, @PathVariable ID id, @RequestBody @NotNull @Validated Write write) {
+        // writes load their own instance - cached entities are shared with concurrent reads
         Entity entity = getEntity(parentId, id);
-        converter.updateEntityFromEdit(write, entity);
-        repository.save(entity);
-        return converter.fromEntity(entity);
+        EntityCache<Pair<ID, ID>, Entity> entityCache = getEntityCache();
+        Entity saved;
+        try {
+            converter.updateEntityFromEdit(write, entity);
+            saved = repository.save(entity);
+            if (entityCache != null) {
+                entityCache.put(Pair.of(parentId, id), saved);
+            }
+        } catch (RuntimeException e) {
+            if (entityCache != null) {
+                entityCache.evict(Pair.of(parentId, id));
+            }
+            throw e;
+        }
+        return converter.fromEntity(saved);
     }
 
     @RequestMapping(method = RequestMethod.DELETE, path = "/{id}")
     public void delete(@PathVariable("parentId") ID parentId, @PathVariable("id") ID id) {
         Entity entity = getEntity(parentId, id);
         repository.delete(entity);
+        EntityCache<Pair<ID, ID>, Entity> entityCache = getEntityCache();
+        if (entityCache != null) {
+            entityCache.evict(Pair.of(parentId, id));
+        }
     }
 
     /**
@@ -82,6 +106,52 @@ public abstract class AbstractCrudChildController<Entity, Read, Write, ID extend
         return Sort.unsorted();
     }
 
+    /**
+     * converts a page of entities into the response - by default the whole content gets converted at once<br>
+     * return {@link ConvertingPageableResult#of(Page, EntityReadWriteConverter)} in order to convert and write the content element by element during serialization
+     *
+     * @param entities page of entities
+     * @return wrapped and converted page
+     */
+    protected PageableResult<Read> toPageableResult(Page<Entity> entities) {
+        return PageableResult.contentPage(converter.fromEntities(entities.getContent()), entities);
+    }
+
+    /**
+     * opt-in cache for single entities keyed by parentId and id used by getById - update and delete only write the saved state into it
+     *
+     * @return null by default - disables caching
+     */
+    protected EntityCache<Pair<ID, ID>, Entity> getEntityCache() {
+        return null;
+    }
+
+    /**
+     * reads through {@link #getEntityCache()} when configured otherwise calls {@link #getEntity(Serializable, Serializable)}
+     */
+    protected Entity getCachedEntity(ID parentId, ID id) {
+        EntityCache<Pair<ID, ID>, Entity> entityCache = getEntityCache();
+        if (entityCache != null) {
+            return entityCache.get(Pair.of(parentId, id), key -> getEntity(key.getFirst(), key.getSecond()));
+        }
+        return getEntity(parentId, id);
+    }
+
+    /**
+     * loads the parent through the given cache - could be used within {@link #newEntity(Serializable, Object)} or {@link #getEntity(Serializable, Serializable)}<br>
+     * existing and missing parents are cached, so hot parents are loaded only once per ttl
+     *
+     * @param parentId identifier of parent
+     * @param cache    shared cache of the parent controller - null disables caching
+     * @param loader   loads the parent - for example parentRepository::findById
+     * @return parent
+     * @throws NotFoundException when parent is missing
+     */
+    protected <Parent> Parent resolveParent(ID parentId, ParentExistenceCache<ID, Parent> cache, Function<ID, Optional<Parent>> loader) {
+        Optional<Parent> parent = cache != null ? cache.get(parentId, loader) : loader.apply(parentId);
+        return parent.orElseThrow(() -> new NotFoundException());
+    }
+
     /**
      * should find entity by given parentId and id. in case anything is not fitting: for example parentId with id it could throw for example {@link io.rocketbase.commons.exception.NotFoundException}
      */
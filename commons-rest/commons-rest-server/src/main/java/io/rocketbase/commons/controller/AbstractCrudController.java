@@ -1,14 +1,21 @@
 package io.rocketbase.commons.controller;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.rocketbase.commons.cache.EntityCache;
 import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.batch.BatchResult;
+import io.rocketbase.commons.dto.batch.BatchWrite;
 import io.rocketbase.commons.exception.NotFoundException;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.io.Serializable;
 
+import static io.rocketbase.commons.patch.MergePatchSupport.APPLICATION_MERGE_PATCH_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 
@@ -31,31 +38,121 @@ public abstract class AbstractCrudController<Entity, Read, Write, ID extends Ser
     @ResponseBody
     public Read getById(@PathVariable("id") ID id) {
         Entity entity = getEntity(id);
-        return getConverter().fromEntity(entity);
+        String eTag = getETag(entity);
+        if (checkNotModified(eTag) || writeJson(entity, eTag)) {
+            return null;
+        }
+        Read read = getConverter().fromEntity(entity);
+        if (eTag == null && checkNotModified(getBodyETag(read))) {
+            return null;
+        }
+        return read;
     }
 
     @RequestMapping(method = RequestMethod.PUT, path = "/{id}", consumes = APPLICATION_JSON_VALUE)
     @ResponseBody
     public Read update(@PathVariable ID id, @RequestBody @NotNull @Validated Write write) {
-        Entity entity = getEntity(id);
-        getConverter().updateEntityFromEdit(write, entity);
-        getRepository().save(entity);
+        Entity entity = writeThrough(id, () -> updateEntity(id, write));
+        afterUpdate(entity);
         return getConverter().fromEntity(entity);
     }
 
+    /**
+     * JSON merge patch (RFC 7396) that only validates and stores the given properties
+     */
+    @RequestMapping(method = RequestMethod.PATCH, path = "/{id}", consumes = APPLICATION_MERGE_PATCH_JSON_VALUE)
+    @ResponseBody
+    public Read patch(@PathVariable("id") ID id, @RequestBody @NotNull ObjectNode patch) {
+        Entity saved = writeThrough(id, () -> patchEntity(loadEntity(id), patch));
+        afterUpdate(saved);
+        return getConverter().fromEntity(saved);
+    }
+
     @RequestMapping(method = RequestMethod.DELETE, path = "/{id}")
     public void delete(@PathVariable("id") ID id) {
-        Entity entity = getEntity(id);
-        getRepository().delete(entity);
+        deleteEntity(id);
+        evictEntity(id);
+        afterDelete(id);
+    }
+
+    /**
+     * loads all ids with one query - missing entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/lookup", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> lookup(@RequestBody @NotNull List<ID> ids) {
+        return lookupItems(ids);
+    }
+
+    /**
+     * updates all entries in chunks - missing or invalid entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.PUT, path = "/batch", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> updateBatch(@RequestBody @NotNull List<BatchWrite<ID, Write>> writes) {
+        return updateBatchItems(writes.stream()
+                        .map(BatchWrite::getId)
+                        .collect(Collectors.toList()),
+                writes.stream()
+                        .map(BatchWrite::getData)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * deletes all entries in chunks - missing entries are reported per item
+     */
+    @RequestMapping(method = RequestMethod.DELETE, path = "/batch", consumes = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public BatchResult<Read> deleteBatch(@RequestBody @NotNull List<ID> ids) {
+        return deleteBatchItems(ids);
     }
 
     /**
-     * get by Id or throw {@link NotFoundException}
+     * loads the entity bypassing {@link #getEntityCache()}, applies {@link EntityReadWriteConverter#updateEntityFromEdit(Object, Object)} and saves it<br>
+     * could be overwritten with a single round trip update - for example {@link io.rocketbase.commons.write.MongoWriteSupport#updateById} in combination with {@link EntityReadWriteConverter#describeUpdate(Object)}
+     *
+     * @param id    identifier
+     * @param write values to map to entity
+     * @return saved entity
+     */
+    protected Entity updateEntity(ID id, Write write) {
+        Entity entity = loadEntity(id);
+        getConverter().updateEntityFromEdit(write, entity);
+        return getRepository().save(entity);
+    }
+
+    /**
+     * loads the entity and deletes it - throws {@link NotFoundException} when missing<br>
+     * could be overwritten with a single round trip delete - for example {@link io.rocketbase.commons.write.MongoWriteSupport#deleteById}
+     *
+     * @param id identifier
+     */
+    protected void deleteEntity(ID id) {
+        getRepository().delete(loadEntity(id));
+    }
+
+    /**
+     * get by Id or throw {@link NotFoundException} - reads through {@link #getEntityCache()} when configured
      *
      * @param id unique identifier
      * @return entity
      */
     protected Entity getEntity(ID id) {
+        EntityCache<ID, Entity> entityCache = getEntityCache();
+        if (entityCache != null) {
+            return entityCache.get(id, this::loadEntity);
+        }
+        return loadEntity(id);
+    }
+
+    /**
+     * load by Id from repository or throw {@link NotFoundException}<br>
+     * used by all writes, so that cached instances never get modified before they are saved
+     *
+     * @param id unique identifier
+     * @return entity
+     */
+    protected Entity loadEntity(ID id) {
         return getRepository().findById(id)
                 .orElseThrow(() -> new NotFoundException());
     }
@@ -0,0 +1,29 @@
+package io.rocketbase.commons.controller.exceptionhandler;
+
+import io.rocketbase.commons.controller.BaseController;
+import io.rocketbase.commons.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * only handles exceptions of the commons-rest controllers - a RejectedExecutionException of other controllers stays untouched
+ */
+@ControllerAdvice(assignableTypes = BaseController.class)
+public class RejectedExecutionExceptionHandler extends BaseExceptionHandler {
+
+    @ExceptionHandler
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ErrorResponse handleRejectedExecutionException(HttpServletResponse response, RejectedExecutionException e) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return new ErrorResponse(SERVICE_UNAVAILABLE.value(), SERVICE_UNAVAILABLE.getReasonPhrase());
+    }
+}
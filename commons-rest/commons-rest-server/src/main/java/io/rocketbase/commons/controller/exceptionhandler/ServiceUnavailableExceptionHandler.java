@@ -0,0 +1,25 @@
+package io.rocketbase.commons.controller.exceptionhandler;
+
+import io.rocketbase.commons.dto.ErrorResponse;
+import io.rocketbase.commons.exception.ServiceUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+@ControllerAdvice
+public class ServiceUnavailableExceptionHandler extends BaseExceptionHandler {
+
+    @ExceptionHandler
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ErrorResponse handleServiceUnavailableException(HttpServletResponse response, ServiceUnavailableException e) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return new ErrorResponse(SERVICE_UNAVAILABLE.value(), SERVICE_UNAVAILABLE.getReasonPhrase());
+    }
+}
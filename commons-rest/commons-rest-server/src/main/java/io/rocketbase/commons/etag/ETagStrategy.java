@@ -0,0 +1,23 @@
+package io.rocketbase.commons.etag;
+
+/**
+ * defines how CRUD controllers compute ETags for conditional GET requests
+ */
+public enum ETagStrategy {
+
+    /**
+     * no ETag header - requests are always answered with full body
+     */
+    NONE,
+
+    /**
+     * ETag based on @Version or @LastModifiedDate of the entity - conversion is skipped in case of a match<br>
+     * entities without such a field will not get an ETag - changes of embedded referenced entities are not detected
+     */
+    VERSION,
+
+    /**
+     * like {@link #VERSION} - in case the entity has no version the serialized body gets hashed
+     */
+    VERSION_OR_BODY
+}
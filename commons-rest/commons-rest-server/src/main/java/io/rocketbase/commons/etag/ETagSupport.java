@@ -0,0 +1,180 @@
+package io.rocketbase.commons.etag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * helper to compute strong ETags for entities, pages and response bodies and handle If-None-Match
+ */
+public final class ETagSupport {
+
+    private static final Set<String> VERSION_ANNOTATIONS = new HashSet<>(Arrays.asList("org.springframework.data.annotation.Version",
+            "javax.persistence.Version",
+            "org.springframework.data.annotation.LastModifiedDate"));
+
+    private static final Set<String> ID_ANNOTATIONS = new HashSet<>(Arrays.asList("org.springframework.data.annotation.Id",
+            "javax.persistence.Id"));
+
+    private static final Map<Class<?>, EntityFields> ENTITY_FIELDS = new ConcurrentHashMap<>();
+
+    /**
+     * @param entity database entity
+     * @return value of field annotated with @Version or @LastModifiedDate - null when not present
+     */
+    public static Object getVersion(Object entity) {
+        return entity != null ? getFieldValue(getEntityFields(entity.getClass()).version, entity) : null;
+    }
+
+    /**
+     * @param entityClass type of database entity
+     * @return true when the type has a field annotated with @Version or @LastModifiedDate
+     */
+    public static boolean hasVersion(Class<?> entityClass) {
+        return getEntityFields(entityClass).version != null;
+    }
+
+    /**
+     * @param entity database entity
+     * @return value of field annotated with @Id - null when not present
+     */
+    public static Object getId(Object entity) {
+        return entity != null ? getFieldValue(getEntityFields(entity.getClass()).id, entity) : null;
+    }
+
+    /**
+     * @param entity database entity
+     * @return ETag based on type, id and version of entity and current locale or null when entity has no version
+     */
+    public static String versionETag(Object entity) {
+        Object version = getVersion(entity);
+        if (version == null) {
+            return null;
+        }
+        return "v" + md5(LocaleContextHolder.getLocale().toLanguageTag() + "|" + entity.getClass().getName() + "|" + getId(entity) + "|" + version);
+    }
+
+    /**
+     * @param page page of entities
+     * @return ETag based on paging, types, ids and versions of all entities or null when any entity has no id/version
+     */
+    public static String versionETag(Page<?> page) {
+        StringBuilder value = new StringBuilder()
+                .append(LocaleContextHolder.getLocale().toLanguageTag())
+                .append('|').append(page.getNumber())
+                .append('|').append(page.getSize())
+                .append('|').append(page.getTotalElements());
+        for (Object entity : page.getContent()) {
+            Object id = getId(entity);
+            Object version = getVersion(entity);
+            if (id == null || version == null) {
+                return null;
+            }
+            value.append('|').append(entity.getClass().getName()).append(':').append(id).append(':').append(version);
+        }
+        return "p" + md5(value.toString());
+    }
+
+    /**
+     * hashes the serialized body without buffering it
+     *
+     * @param objectMapper used to serialize
+     * @param body         response body
+     * @return ETag of serialized body
+     */
+    @SneakyThrows
+    public static String bodyETag(ObjectMapper objectMapper, Object body) {
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        objectMapper.writeValue(new DigestOutputStream(new NullOutputStream(), digest), body);
+        return "b" + toHex(digest.digest());
+    }
+
+    /**
+     * sets ETag header of current request and checks If-None-Match<br>
+     * in case of a match the response status is set to 304 - the controller should return null
+     *
+     * @param eTag computed ETag - null will be ignored
+     * @return true in case the client has the current version
+     */
+    public static boolean checkNotModified(String eTag) {
+        if (eTag == null) {
+            return false;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes) || ((ServletRequestAttributes) attributes).getResponse() == null) {
+            return false;
+        }
+        ServletRequestAttributes servletAttributes = (ServletRequestAttributes) attributes;
+        return new ServletWebRequest(servletAttributes.getRequest(), servletAttributes.getResponse()).checkNotModified(eTag);
+    }
+
+    private static String md5(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static Object getFieldValue(Field field, Object entity) {
+        return field != null ? ReflectionUtils.getField(field, entity) : null;
+    }
+
+    private static EntityFields getEntityFields(Class<?> entityClass) {
+        return ENTITY_FIELDS.computeIfAbsent(entityClass, clazz -> {
+            EntityFields fields = new EntityFields();
+            ReflectionUtils.doWithFields(clazz, field -> {
+                for (Annotation annotation : field.getDeclaredAnnotations()) {
+                    String name = annotation.annotationType().getName();
+                    if (fields.version == null && VERSION_ANNOTATIONS.contains(name)) {
+                        ReflectionUtils.makeAccessible(field);
+                        fields.version = field;
+                    } else if (fields.id == null && ID_ANNOTATIONS.contains(name)) {
+                        ReflectionUtils.makeAccessible(field);
+                        fields.id = field;
+                    }
+                }
+            });
+            return fields;
+        });
+    }
+
+    private static class EntityFields {
+        private Field id;
+        private Field version;
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
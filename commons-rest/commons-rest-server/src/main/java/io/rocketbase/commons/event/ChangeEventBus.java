@@ -0,0 +1,237 @@
+package io.rocketbase.commons.event;
+
+import io.rocketbase.commons.dto.event.ChangeEvent;
+import io.rocketbase.commons.dto.event.ChangeType;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * in-process bus for the change events of one controller<br>
+ * the latest events are kept in a ring buffer so that subscribers can resume with Last-Event-ID, older ids get a {@link ChangeType#RESYNC}<br>
+ * each subscriber has an own bounded queue that is drained in order by a small pool of delivery threads, so that writes and other subscribers don't wait for slow subscribers<br>
+ * a subscriber that falls behind by more than subscriberQueueSize events gets its pending events replaced by a single {@link ChangeType#RESYNC}
+ *
+ * @param <Read> response data object
+ */
+@Slf4j
+public class ChangeEventBus<Read> implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+
+    public static final int DEFAULT_SUBSCRIBER_QUEUE_SIZE = 100;
+
+    public static final int DEFAULT_DELIVERY_THREADS = 2;
+
+    /**
+     * events sent to one subscriber before the delivery thread moves on to the next one
+     */
+    private static final int MAX_EVENTS_PER_DRAIN = 32;
+
+    private final int bufferSize;
+
+    private final int subscriberQueueSize;
+
+    private final Deque<ChangeEvent<Read>> buffer;
+
+    private final Map<ChangeEventSubscriber<Read>, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher;
+
+    private final LongAdder resyncCount = new LongAdder();
+
+    /**
+     * starts with the current time so that ids of a previous instance are detected as outdated after a restart
+     */
+    private long sequence = System.currentTimeMillis();
+
+    /**
+     * false when the bus is fed by an external source like {@link MongoChangeStreamAdapter} - controllers don't publish their writes then
+     */
+    @Getter
+    @Setter
+    private volatile boolean controllerPublishing = true;
+
+    /**
+     * @param name       name of the delivery threads
+     * @param bufferSize count of events kept for resuming subscribers
+     */
+    public ChangeEventBus(String name, int bufferSize) {
+        this(name, bufferSize, DEFAULT_SUBSCRIBER_QUEUE_SIZE, DEFAULT_DELIVERY_THREADS);
+    }
+
+    /**
+     * @param name                name of the delivery threads
+     * @param bufferSize          count of events kept for resuming subscribers
+     * @param subscriberQueueSize count of pending events per subscriber before it gets a resync
+     * @param deliveryThreads     count of threads that send to subscribers in parallel
+     */
+    public ChangeEventBus(String name, int bufferSize, int subscriberQueueSize, int deliveryThreads) {
+        this.bufferSize = bufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.buffer = new ArrayDeque<>(bufferSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * stores the event within the buffer and queues it for all subscribers - never waits for a subscriber
+     *
+     * @param type kind of change
+     * @param id   identifier of the entity
+     * @param data current state - null for deletes
+     */
+    public void publish(ChangeType type, String id, Read data) {
+        // the lock only keeps ids, buffer and the queues of the subscribers in the same order
+        synchronized (this) {
+            ChangeEvent<Read> event = new ChangeEvent<>(++sequence, type, id, data);
+            if (buffer.size() >= bufferSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(event);
+            subscriptions.values().forEach(subscription -> subscription.enqueue(event));
+        }
+        subscriptions.values().forEach(Subscription::schedule);
+    }
+
+    /**
+     * registers the subscriber and sends all buffered events after lastEventId
+     *
+     * @param lastEventId id of the last received event - null for only new events
+     * @param subscriber  receiver of the events
+     */
+    public void subscribe(Long lastEventId, ChangeEventSubscriber<Read> subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+        synchronized (this) {
+            if (lastEventId != null && lastEventId != sequence) {
+                long oldest = buffer.isEmpty() ? sequence + 1 : buffer.getFirst().getEventId();
+                if (lastEventId < oldest - 1 || lastEventId > sequence) {
+                    subscription.enqueue(new ChangeEvent<>(sequence, ChangeType.RESYNC, null, null));
+                } else {
+                    buffer.stream()
+                            .filter(event -> event.getEventId() > lastEventId)
+                            .forEach(subscription::enqueue);
+                }
+            }
+            subscriptions.put(subscriber, subscription);
+        }
+        subscription.schedule();
+    }
+
+    public void unsubscribe(ChangeEventSubscriber<Read> subscriber) {
+        Subscription subscription = subscriptions.remove(subscriber);
+        if (subscription != null) {
+            subscription.active = false;
+        }
+    }
+
+    /**
+     * @return count of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return count of resyncs caused by subscribers that fell behind
+     */
+    public long getResyncCount() {
+        return resyncCount.sum();
+    }
+
+    @Override
+    public void close() {
+        subscriptions.values().forEach(subscription -> subscription.active = false);
+        subscriptions.clear();
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * pending events of one subscriber - at most one delivery thread drains it at a time to keep the order
+     */
+    private class Subscription implements Runnable {
+
+        private final ChangeEventSubscriber<Read> subscriber;
+
+        private final Deque<ChangeEvent<Read>> pending = new ArrayDeque<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean active = true;
+
+        private Subscription(ChangeEventSubscriber<Read> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private synchronized void enqueue(ChangeEvent<Read> event) {
+            if (pending.size() >= subscriberQueueSize) {
+                // subscriber fell behind - it has to reload anyway, so the pending events are not needed
+                pending.clear();
+                pending.add(new ChangeEvent<>(event.getEventId(), ChangeType.RESYNC, null, null));
+                resyncCount.increment();
+                return;
+            }
+            pending.add(event);
+        }
+
+        private synchronized ChangeEvent<Read> poll() {
+            return pending.poll();
+        }
+
+        private synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+
+        private void schedule() {
+            if (active && hasPending() && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // bus is closed
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_EVENTS_PER_DRAIN && active; i++) {
+                    ChangeEvent<Read> event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    send(event);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            schedule();
+        }
+
+        private void send(ChangeEvent<Read> event) {
+            try {
+                subscriber.send(event);
+            } catch (IOException | RuntimeException e) {
+                log.debug("removed change event subscriber: {}", e.getMessage());
+                unsubscribe(subscriber);
+            }
+        }
+    }
+}
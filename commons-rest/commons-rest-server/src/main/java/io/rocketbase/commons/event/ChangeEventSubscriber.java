@@ -0,0 +1,20 @@
+package io.rocketbase.commons.event;
+
+import io.rocketbase.commons.dto.event.ChangeEvent;
+
+import java.io.IOException;
+
+/**
+ * receiver of the events of a {@link ChangeEventBus} - for example a connected SseEmitter
+ *
+ * @param <Read> response data object
+ */
+@FunctionalInterface
+public interface ChangeEventSubscriber<Read> {
+
+    /**
+     * @param event published event
+     * @throws IOException in case the receiver is gone - the subscriber gets removed
+     */
+    void send(ChangeEvent<Read> event) throws IOException;
+}
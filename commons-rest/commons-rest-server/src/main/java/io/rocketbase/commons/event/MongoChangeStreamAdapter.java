@@ -0,0 +1,97 @@
+package io.rocketbase.commons.event;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.rocketbase.commons.dto.event.ChangeType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+
+import java.util.function.Function;
+
+/**
+ * feeds a {@link ChangeEventBus} with the change stream of a mongo collection (needs a replica set)<br>
+ * covers writes of all instances and writes that don't pass the controller - the controller itself stops publishing its writes to the bus
+ *
+ * @param <Entity> database entity
+ * @param <Read>   response data object
+ */
+public class MongoChangeStreamAdapter<Entity, Read> implements AutoCloseable {
+
+    private final ChangeEventBus<Read> bus;
+
+    private final Function<Entity, Read> converter;
+
+    private final MessageListenerContainer container;
+
+    /**
+     * @param mongoTemplate used to open the change stream
+     * @param entityClass   entity of the watched collection
+     * @param bus           bus of the controller
+     * @param converter     converts the changed entity - for example converter::fromEntity
+     */
+    public MongoChangeStreamAdapter(MongoTemplate mongoTemplate, Class<Entity> entityClass, ChangeEventBus<Read> bus, Function<Entity, Read> converter) {
+        this.bus = bus;
+        this.converter = converter;
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        this.container.start();
+        this.container.register(ChangeStreamRequest.builder(this::publish)
+                .collection(mongoTemplate.getCollectionName(entityClass))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build(), entityClass);
+        bus.setControllerPublishing(false);
+    }
+
+    @Override
+    public void close() {
+        container.stop();
+        bus.setControllerPublishing(true);
+    }
+
+    private void publish(Message<ChangeStreamDocument<Document>, Entity> message) {
+        ChangeStreamDocument<Document> raw = message.getRaw();
+        if (raw == null || raw.getDocumentKey() == null) {
+            return;
+        }
+        ChangeType type;
+        switch (raw.getOperationType()) {
+            case INSERT:
+                type = ChangeType.CREATED;
+                break;
+            case UPDATE:
+            case REPLACE:
+                type = ChangeType.UPDATED;
+                break;
+            case DELETE:
+                type = ChangeType.DELETED;
+                break;
+            default:
+                return;
+        }
+        Entity entity = type != ChangeType.DELETED ? message.getBody() : null;
+        bus.publish(type, toId(raw.getDocumentKey().get("_id")), entity != null ? converter.apply(entity) : null);
+    }
+
+    private static String toId(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        if (id.isString()) {
+            return id.asString().getValue();
+        }
+        if (id.isInt64()) {
+            return String.valueOf(id.asInt64().getValue());
+        }
+        if (id.isInt32()) {
+            return String.valueOf(id.asInt32().getValue());
+        }
+        return id.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package io.rocketbase.commons.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+
+/**
+ * in memory {@link IdempotencyStore} bounded by size and ttl
+ */
+public class CaffeineIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotentResponse> cache;
+
+    /**
+     * @param maximumSize      maximum count of stored responses
+     * @param expireAfterWrite time a key can be replayed
+     */
+    public CaffeineIdempotencyStore(long maximumSize, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public IdempotentResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        cache.put(key, response);
+    }
+
+    @Override
+    public void remove(String key) {
+        cache.invalidate(key);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,35 @@
+package io.rocketbase.commons.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * wraps POST/PUT/PATCH requests with an Idempotency-Key header so that {@link IdempotencyInterceptor} gets the hash of the request body
+ * and the status and bytes that have actually been written<br>
+ * the body is hashed while it's read and the response is passed through - memory stays bounded by maxResponseSize also for streamed uploads
+ */
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * larger responses are not stored and therefore not replayed
+     */
+    private final int maxResponseSize;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !StringUtils.hasText(request.getHeader(IdempotencyInterceptor.HEADER)) || !IdempotencyInterceptor.isWrite(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(new IdempotencyRequestWrapper(request), new IdempotencyResponseWrapper(response, maxResponseSize));
+    }
+}
@@ -0,0 +1,179 @@
+package io.rocketbase.commons.idempotency;
+
+import io.rocketbase.commons.exception.ServiceUnavailableException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * handles POST/PUT/PATCH requests with an Idempotency-Key header<br>
+ * a repeated key gets the stored response replayed without calling the controller, concurrent repeats wait for the first call<br>
+ * keys are scoped by method, path and caller - a repeat with another request body gets rejected with 422<br>
+ * only successful responses up to idempotency.maxResponseSize get stored so that a failed call can be retried<br>
+ * requires {@link IdempotencyFilter} that buffers the request body and the written response
+ */
+@RequiredArgsConstructor
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String PENDING_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".pending";
+
+    @Getter
+    private final IdempotencyStore store;
+
+    /**
+     * max time a repeat waits for the first call - afterwards it gets rejected with 503
+     */
+    private final Duration waitTimeout;
+
+    private final Map<String, CompletableFuture<IdempotentResponse>> inflight = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (!(handler instanceof HandlerMethod) || !StringUtils.hasText(idempotencyKey) || !isWrite(request.getMethod())
+                || request.getAttribute(PENDING_ATTRIBUTE) != null) {
+            // no idempotent write or async dispatch of an already registered request
+            return true;
+        }
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + getCaller(request) + " " + idempotencyKey;
+        while (true) {
+            IdempotentResponse stored = store.get(key);
+            if (stored != null) {
+                replay(stored, request, response);
+                return false;
+            }
+            CompletableFuture<IdempotentResponse> future = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inflight.putIfAbsent(key, future);
+            if (running == null) {
+                request.setAttribute(PENDING_ATTRIBUTE, new Pending(key, future));
+                return true;
+            }
+            stored = await(running, key);
+            if (stored != null) {
+                replay(stored, request, response);
+                return false;
+            }
+            // first call failed - try again as first call
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        Pending pending = (Pending) request.getAttribute(PENDING_ATTRIBUTE);
+        if (pending != null) {
+            request.removeAttribute(PENDING_ATTRIBUTE);
+            IdempotentResponse captured = null;
+            try {
+                captured = ex == null ? capture(request, response) : null;
+                if (captured != null) {
+                    store.put(pending.getKey(), captured);
+                }
+            } finally {
+                inflight.remove(pending.getKey(), pending.getFuture());
+                pending.getFuture().complete(captured);
+            }
+        }
+    }
+
+    /**
+     * identifies the caller so that keys of different callers can't collide<br>
+     * uses the principal, a hash of the Authorization header or the remote address of anonymous requests
+     */
+    protected String getCaller(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && StringUtils.hasText(principal.getName())) {
+            return principal.getName();
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(authorization)) {
+            return IdempotencyRequestWrapper.hash(authorization.getBytes(StandardCharsets.UTF_8));
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * @return count of keys that are currently processed
+     */
+    public int getInflightCount() {
+        return inflight.size();
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> running, String key) throws InterruptedException, ExecutionException {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("request with same idempotency-key is still in progress: " + key);
+        }
+    }
+
+    /**
+     * @return written response of a successful request or null when it can't be replayed
+     */
+    private IdempotentResponse capture(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        IdempotencyRequestWrapper read = WebUtils.getNativeRequest(request, IdempotencyRequestWrapper.class);
+        IdempotencyResponseWrapper written = WebUtils.getNativeResponse(response, IdempotencyResponseWrapper.class);
+        if (read == null || written == null || written.getStatus() < 200 || written.getStatus() >= 300) {
+            return null;
+        }
+        byte[] body = written.getCapturedBody();
+        return body != null ? new IdempotentResponse(written.getStatus(), written.getContentType(), body, read.getBodyHash()) : null;
+    }
+
+    @SneakyThrows
+    private void replay(IdempotentResponse stored, HttpServletRequest request, HttpServletResponse response) {
+        if (!bodyHash(request).equals(stored.getRequestHash())) {
+            throw new IdempotencyKeyMismatchException("request body differs from the first request with idempotency-key: " + request.getHeader(HEADER));
+        }
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getBody() != null) {
+            response.setContentLength(stored.getBody().length);
+            response.getOutputStream().write(stored.getBody());
+        }
+        response.flushBuffer();
+    }
+
+    static boolean isWrite(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
+    }
+
+    private static String bodyHash(HttpServletRequest request) throws IOException {
+        IdempotencyRequestWrapper read = WebUtils.getNativeRequest(request, IdempotencyRequestWrapper.class);
+        return read != null ? read.getBodyHash() : IdempotencyRequestWrapper.hash(request.getInputStream());
+    }
+
+    /**
+     * request that is processed as first call of its key
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class Pending {
+        private final String key;
+        private final CompletableFuture<IdempotentResponse> future;
+    }
+}
@@ -0,0 +1,141 @@
+package io.rocketbase.commons.idempotency;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * computes the sha-256 of the request body while it's read - nothing gets buffered, so streamed uploads (/import) keep their bounded memory
+ */
+public class IdempotencyRequestWrapper extends HttpServletRequestWrapper {
+
+    private final MessageDigest digest = newDigest();
+
+    private ServletInputStream inputStream;
+
+    private BufferedReader reader;
+
+    private String hash;
+
+    public IdempotencyRequestWrapper(HttpServletRequest request) {
+        super(request);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new DigestServletInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), encoding != null ? encoding : StandardCharsets.ISO_8859_1.name()));
+        }
+        return reader;
+    }
+
+    /**
+     * reads the part of the body that hasn't been consumed yet without keeping it
+     *
+     * @return sha-256 of the whole body
+     */
+    public String getBodyHash() throws IOException {
+        if (hash == null) {
+            drain(getInputStream());
+            hash = Base64.getEncoder().encodeToString(digest.digest());
+        }
+        return hash;
+    }
+
+    /**
+     * @return sha-256 of the stream - read in chunks without keeping it
+     */
+    static String hash(InputStream inputStream) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    static String hash(byte[] value) {
+        return Base64.getEncoder().encodeToString(newDigest().digest(value));
+    }
+
+    private static void drain(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (inputStream.read(buffer) != -1) {
+            // digest gets updated while reading
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class DigestServletInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private DigestServletInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = delegate.read(b, off, len);
+            if (read > 0) {
+                digest.update(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
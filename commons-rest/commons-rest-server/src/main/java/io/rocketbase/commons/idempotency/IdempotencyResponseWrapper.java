@@ -0,0 +1,115 @@
+package io.rocketbase.commons.idempotency;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * passes the body directly to the client and keeps a copy up to maxCaptureSize bytes<br>
+ * larger responses (for example streamed exports) are not captured and therefore not replayed
+ */
+public class IdempotencyResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int maxCaptureSize;
+
+    private ByteArrayOutputStream capture = new ByteArrayOutputStream();
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    public IdempotencyResponseWrapper(HttpServletResponse response, int maxCaptureSize) {
+        super(response);
+        this.maxCaptureSize = maxCaptureSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CapturingServletOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * @return written body or null when it exceeded maxCaptureSize
+     */
+    public byte[] getCapturedBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return capture != null ? capture.toByteArray() : null;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (capture != null) {
+            if (capture.size() + len > maxCaptureSize) {
+                capture = null;
+            } else {
+                capture.write(b, off, len);
+            }
+        }
+    }
+
+    private class CapturingServletOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CapturingServletOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.rocketbase.commons.idempotency;
+
+/**
+ * stores responses of requests with an Idempotency-Key header<br>
+ * implement it for a shared backend (for example redis) when running multiple instances
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @param key scoped idempotency key
+     * @return stored response or null
+     */
+    IdempotentResponse get(String key);
+
+    void put(String key, IdempotentResponse response);
+
+    void remove(String key);
+}
@@ -0,0 +1,25 @@
+package io.rocketbase.commons.idempotency;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * written response of a request with an Idempotency-Key header
+ */
+@Getter
+@RequiredArgsConstructor
+public class IdempotentResponse implements Serializable {
+
+    private final int status;
+
+    private final String contentType;
+
+    private final byte[] body;
+
+    /**
+     * sha-256 of the request body - a repeat with another body gets rejected instead of replayed
+     */
+    private final String requestHash;
+}
@@ -0,0 +1,135 @@
+package io.rocketbase.commons.limit;
+
+import io.rocketbase.commons.exception.ServiceUnavailableException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * applies one {@link GradientLimiter} per controller that is shared by all of its endpoints<br>
+ * requests above the limit get rejected before the body is read with {@link ServiceUnavailableException} (503 with Retry-After)<br>
+ * reads may use the whole limit, writes and bulk writes (/batch, /import) only a share of it - so bulk writes get rejected first and reads still pass when the database slows down<br>
+ * async handlers (sse streams, Callable, CompletableFuture) free their slot without a latency sample as soon as the async processing has been started
+ */
+public class AdaptiveConcurrencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String TOKEN_ATTRIBUTE = AdaptiveConcurrencyInterceptor.class.getName() + ".token";
+
+    /**
+     * marks requests whose token has been released when the async processing started
+     */
+    private static final Object RELEASED = new Object();
+
+    private final int initialLimit;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double writeShare;
+
+    private final double bulkShare;
+
+    private final Map<String, GradientLimiter> limiters = new ConcurrentHashMap<>();
+
+    private volatile BiConsumer<String, GradientLimiter> limiterListener;
+
+    public AdaptiveConcurrencyInterceptor(int initialLimit, int minLimit, int maxLimit, double writeShare, double bulkShare) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.writeShare = writeShare;
+        this.bulkShare = bulkShare;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getAttribute(TOKEN_ATTRIBUTE) != null) {
+            // no controller or async dispatch of an already admitted request
+            return true;
+        }
+        String controller = getLimiterKey((HandlerMethod) handler);
+        GradientLimiter.Token token = getLimiter(controller).tryAcquire(getShare(request));
+        if (token == null) {
+            throw new ServiceUnavailableException(controller + " reached its concurrency limit");
+        }
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object token = request.getAttribute(TOKEN_ATTRIBUTE);
+        if (token != null) {
+            request.removeAttribute(TOKEN_ATTRIBUTE);
+            if (token instanceof GradientLimiter.Token) {
+                ((GradientLimiter.Token) token).release(ex == null);
+            }
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object token = request.getAttribute(TOKEN_ATTRIBUTE);
+        if (token instanceof GradientLimiter.Token) {
+            // keep the attribute set - the async dispatch must not acquire a new slot
+            request.setAttribute(TOKEN_ATTRIBUTE, RELEASED);
+            ((GradientLimiter.Token) token).releaseWithoutSample();
+        }
+    }
+
+    /**
+     * @return limiters by controller
+     */
+    public Map<String, GradientLimiter> getLimiters() {
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    /**
+     * @param limiterListener gets called for each limiter - existing ones and new ones on creation (used to register metrics)
+     */
+    public void setLimiterListener(BiConsumer<String, GradientLimiter> limiterListener) {
+        this.limiterListener = limiterListener;
+        limiters.forEach(limiterListener);
+    }
+
+    /**
+     * @return name of the limiter - by default one per controller, so that reads and writes of it compete for the same limit
+     */
+    protected String getLimiterKey(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName();
+    }
+
+    /**
+     * @return part of the shared limit that the request may use
+     */
+    protected double getShare(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return 1.0;
+        }
+        String uri = request.getRequestURI();
+        if (uri.endsWith("/batch") || uri.endsWith("/import")) {
+            return bulkShare;
+        }
+        return writeShare;
+    }
+
+    private GradientLimiter getLimiter(String controller) {
+        return limiters.computeIfAbsent(controller, key -> {
+            GradientLimiter limiter = new GradientLimiter(initialLimit, minLimit, maxLimit);
+            BiConsumer<String, GradientLimiter> listener = limiterListener;
+            if (listener != null) {
+                listener.accept(key, limiter);
+            }
+            return limiter;
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package io.rocketbase.commons.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * adaptive concurrency limit based on the gradient of measured latencies<br>
+ * the long term latency is compared with the latest sample - while the latency stays stable the limit grows by sqrt(limit), rising latency (queueing in the database) shrinks it down to half per sample<br>
+ * requests above the limit should be rejected instead of being queued
+ */
+public class GradientLimiter {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    public static final int DEFAULT_MIN_LIMIT = 5;
+
+    public static final int DEFAULT_MAX_LIMIT = 200;
+
+    /**
+     * ratio of long term to current latency that is still treated as stable
+     */
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double LONG_RTT_ALPHA = 0.01;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile double limit;
+
+    private double longRtt;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @param share part of the limit available for this request - for example lower for bulk writes so that reads are preferred
+     * @return token that has to be released after the request or null when the limit is reached
+     */
+    public Token tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejectedCount.increment();
+                return null;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Token(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    synchronized void update(long rttNanos, int inflightAtStart, boolean success) {
+        if (!success) {
+            // errors and timeouts of the backend - back off without taking the latency into account
+            limit = Math.max(minLimit, limit * 0.9);
+            return;
+        }
+        longRtt = longRtt == 0 ? rttNanos : longRtt * (1 - LONG_RTT_ALPHA) + rttNanos * LONG_RTT_ALPHA;
+        if (longRtt / rttNanos > 2) {
+            // latency recovered - let the long term value follow faster
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rttNanos));
+        if (gradient >= 1.0 && inflightAtStart < limit / 2) {
+            // the limit isn't used - no reason to grow it
+            return;
+        }
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    public class Token {
+        private final long start;
+        private final int inflightAtStart;
+
+        private Token(long start, int inflightAtStart) {
+            this.start = start;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        /**
+         * @param success false in case of a backend error - the latency sample will not be used
+         */
+        public void release(boolean success) {
+            inflight.decrementAndGet();
+            update(System.nanoTime() - start, inflightAtStart, success);
+        }
+
+        /**
+         * frees the slot without a latency sample - for example when a long running async request (sse stream) has been started
+         */
+        public void releaseWithoutSample() {
+            inflight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.rocketbase.commons.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * exposes limit, inflight and rejected count of each controller as commons.limiter.* with tag controller
+ */
+@RequiredArgsConstructor
+public class LimiterMetrics implements MeterBinder {
+
+    private final AdaptiveConcurrencyInterceptor interceptor;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        interceptor.setLimiterListener((controller, limiter) -> {
+            Gauge.builder("commons.limiter.limit", limiter, GradientLimiter::getLimit)
+                    .tag("controller", controller)
+                    .register(registry);
+            Gauge.builder("commons.limiter.inflight", limiter, GradientLimiter::getInflight)
+                    .tag("controller", controller)
+                    .register(registry);
+            FunctionCounter.builder("commons.limiter.rejected", limiter, GradientLimiter::getRejectedCount)
+                    .tag("controller", controller)
+                    .register(registry);
+        });
+    }
+}
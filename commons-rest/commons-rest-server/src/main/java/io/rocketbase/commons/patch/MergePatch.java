@@ -0,0 +1,32 @@
+package io.rocketbase.commons.patch;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * parsed JSON merge patch (RFC 7396)
+ *
+ * @param <Write> object with all properties that are changeable
+ */
+@Getter
+@RequiredArgsConstructor
+public class MergePatch<Write> {
+
+    /**
+     * instance that only contains the values of the patch - all other properties have their default value
+     */
+    private final Write write;
+
+    /**
+     * java property names that are part of the patch - null values mean remove
+     */
+    private final Set<String> properties;
+
+    /**
+     * patches of properties that contain a JSON object - they get merged into the existing value instead of replacing it
+     */
+    private final Map<String, MergePatch<?>> nested;
+}
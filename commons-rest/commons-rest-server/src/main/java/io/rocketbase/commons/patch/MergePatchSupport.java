@@ -0,0 +1,160 @@
+package io.rocketbase.commons.patch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.rocketbase.commons.dto.ErrorResponse;
+import io.rocketbase.commons.exception.BadRequestException;
+import io.rocketbase.commons.exception.ErrorCodes;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+
+/**
+ * helper to apply JSON merge patches (RFC 7396) to entities<br>
+ * nested objects of the patch are merged recursively into the existing value
+ */
+public final class MergePatchSupport {
+
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    /**
+     * reads the patch into an instance of writeClass and collects the touched properties
+     *
+     * @param objectMapper used to deserialize
+     * @param patch        merge patch - unknown properties are handled like configured in objectMapper
+     * @param writeClass   class of the Write object
+     * @return parsed patch
+     * @throws BadRequestException when the patch can't be deserialized
+     */
+    public static <Write> MergePatch<Write> read(ObjectMapper objectMapper, ObjectNode patch, Class<Write> writeClass) {
+        try {
+            return read(objectMapper, patch, objectMapper.constructType(writeClass), objectMapper.treeToValue(patch, writeClass));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException(e.getOriginalMessage());
+        }
+    }
+
+    private static <Write> MergePatch<Write> read(ObjectMapper objectMapper, ObjectNode patch, JavaType type, Write write) {
+        Map<String, BeanPropertyDefinition> definitions = new HashMap<>();
+        if (!type.isMapLikeType()) {
+            for (BeanPropertyDefinition property : objectMapper.getDeserializationConfig().introspect(type).findProperties()) {
+                definitions.put(property.getName(), property);
+            }
+        }
+        Set<String> properties = new LinkedHashSet<>();
+        Map<String, MergePatch<?>> nested = new HashMap<>();
+        BeanWrapper source = write != null && !type.isMapLikeType() ? PropertyAccessorFactory.forBeanPropertyAccess(write) : null;
+        patch.fields().forEachRemaining(field -> {
+            if (type.isMapLikeType()) {
+                properties.add(field.getKey());
+                return;
+            }
+            BeanPropertyDefinition definition = definitions.get(field.getKey());
+            if (definition == null) {
+                return;
+            }
+            properties.add(definition.getInternalName());
+            JavaType propertyType = definition.getPrimaryType();
+            if (field.getValue().isObject() && isMergeable(propertyType) && source.isReadableProperty(definition.getInternalName())) {
+                nested.put(definition.getInternalName(), read(objectMapper, (ObjectNode) field.getValue(), propertyType, source.getPropertyValue(definition.getInternalName())));
+            }
+        });
+        return new MergePatch<>(write, Collections.unmodifiableSet(properties), Collections.unmodifiableMap(nested));
+    }
+
+    private static boolean isMergeable(JavaType type) {
+        if (type == null) {
+            return false;
+        }
+        if (type.isMapLikeType()) {
+            return true;
+        }
+        Class<?> rawClass = type.getRawClass();
+        return !type.isContainerType() && !rawClass.isPrimitive() && rawClass != Object.class
+                && !JsonNode.class.isAssignableFrom(rawClass) && !BeanUtils.isSimpleValueType(rawClass);
+    }
+
+    /**
+     * validates only the touched properties of the patch
+     *
+     * @param validator bean validator - null skips validation
+     * @param patch     parsed patch
+     * @throws BadRequestException containing field errors
+     */
+    public static void validate(Validator validator, MergePatch<?> patch) {
+        if (validator == null) {
+            return;
+        }
+        ErrorResponse errorResponse = null;
+        for (String property : patch.getProperties()) {
+            for (ConstraintViolation<?> violation : validator.validateProperty(patch.getWrite(), property)) {
+                if (errorResponse == null) {
+                    errorResponse = new ErrorResponse(ErrorCodes.FORM_ERROR.getStatus(), "invalid form");
+                }
+                errorResponse.addField(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+        }
+        if (errorResponse != null) {
+            throw new BadRequestException(errorResponse);
+        }
+    }
+
+    /**
+     * copies the touched properties from the patch to the entity by name<br>
+     * nested patches are merged into the current value of the entity - when it's null the value of the patch is taken
+     *
+     * @param patch  parsed patch
+     * @param entity target
+     * @throws BadRequestException when the entity doesn't contain a writable property with the same name
+     */
+    public static void copyProperties(MergePatch<?> patch, Object entity) {
+        ErrorResponse errorResponse = copyProperties(patch, entity, "", null);
+        if (errorResponse != null) {
+            throw new BadRequestException(errorResponse);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ErrorResponse copyProperties(MergePatch<?> patch, Object entity, String path, ErrorResponse errorResponse) {
+        if (entity instanceof Map) {
+            Map<Object, Object> target = (Map<Object, Object>) entity;
+            Map<?, ?> source = (Map<?, ?>) patch.getWrite();
+            for (String property : patch.getProperties()) {
+                Object value = source.get(property);
+                if (value == null) {
+                    target.remove(property);
+                } else {
+                    target.put(property, value);
+                }
+            }
+            return errorResponse;
+        }
+        BeanWrapper source = PropertyAccessorFactory.forBeanPropertyAccess(patch.getWrite());
+        BeanWrapper target = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        for (String property : patch.getProperties()) {
+            if (!target.isWritableProperty(property)) {
+                if (errorResponse == null) {
+                    errorResponse = new ErrorResponse(ErrorCodes.FORM_ERROR.getStatus(), "invalid form");
+                }
+                errorResponse.addField(path + property, "not patchable");
+                continue;
+            }
+            MergePatch<?> nested = patch.getNested().get(property);
+            Object current = nested != null && target.isReadableProperty(property) ? target.getPropertyValue(property) : null;
+            if (current != null && nested.getWrite() != null) {
+                errorResponse = copyProperties(nested, current, path + property + ".", errorResponse);
+            } else {
+                target.setPropertyValue(property, source.getPropertyValue(property));
+            }
+        }
+        return errorResponse;
+    }
+}
@@ -0,0 +1,63 @@
+package io.rocketbase.commons.patch;
+
+import io.rocketbase.commons.exception.NotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Set;
+
+/**
+ * writes only the patched properties of a mongo document via $set/$unset instead of replacing the whole document
+ */
+public final class MongoPatchSupport {
+
+    /**
+     * updates the given properties of the entity with a single findAndModify<br>
+     * in case the entity has a @Version it's used for optimistic locking and gets incremented
+     *
+     * @param mongoOperations mongo template
+     * @param entity          patched entity
+     * @param properties      java property names of the entity - null values get removed
+     * @return updated entity loaded from database
+     * @throws OptimisticLockingFailureException when the version has changed meanwhile
+     * @throws NotFoundException                 when the document has been removed meanwhile
+     */
+    @SuppressWarnings("unchecked")
+    public static <Entity> Entity update(MongoOperations mongoOperations, Entity entity, Set<String> properties) {
+        MongoPersistentEntity<?> persistentEntity = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(entity.getClass());
+        PersistentPropertyAccessor<Entity> accessor = persistentEntity.getPropertyAccessor(entity);
+
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        Query query = Query.query(Criteria.where(idProperty.getName()).is(accessor.getProperty(idProperty)));
+        Update update = new Update();
+        for (String property : properties) {
+            Object value = accessor.getProperty(persistentEntity.getRequiredPersistentProperty(property));
+            if (value == null) {
+                update.unset(property);
+            } else {
+                update.set(property, value);
+            }
+        }
+        if (persistentEntity.hasVersionProperty()) {
+            MongoPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+            query.addCriteria(Criteria.where(versionProperty.getName()).is(accessor.getProperty(versionProperty)));
+            update.inc(versionProperty.getName(), 1);
+        }
+
+        Entity result = mongoOperations.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), (Class<Entity>) entity.getClass());
+        if (result == null) {
+            if (persistentEntity.hasVersionProperty()) {
+                throw new OptimisticLockingFailureException(String.format("%s has been modified or removed meanwhile", entity.getClass().getSimpleName()));
+            }
+            throw new NotFoundException();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package io.rocketbase.commons.write;
+
+import io.rocketbase.commons.exception.NotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+
+/**
+ * single round trip write paths for mongo documents that don't need the entity to be loaded first
+ */
+public final class MongoWriteSupport {
+
+    /**
+     * removes the document with the given id
+     *
+     * @param mongoOperations mongo template
+     * @param entityClass     class of the entity
+     * @param id              identifier
+     * @return false when no document has been removed
+     */
+    public static boolean deleteById(MongoOperations mongoOperations, Class<?> entityClass, Object id) {
+        return mongoOperations.remove(byId(mongoOperations, entityClass, id), entityClass).getDeletedCount() > 0;
+    }
+
+    /**
+     * updates the given properties with a single findAndModify - @Version gets incremented when present<br>
+     * without an expected version the update is last-writer-wins, use {@link #updateById(MongoOperations, Class, Object, Map, Object)} for optimistic locking
+     *
+     * @param mongoOperations mongo template
+     * @param entityClass     class of the entity
+     * @param id              identifier
+     * @param changes         property names of the entity with their new values - null values get removed
+     * @return updated entity
+     * @throws NotFoundException        when no document with the id exists
+     * @throws IllegalArgumentException when changes is null - for example the converter doesn't implement describeUpdate
+     */
+    public static <Entity> Entity updateById(MongoOperations mongoOperations, Class<Entity> entityClass, Object id, Map<String, Object> changes) {
+        return updateById(mongoOperations, entityClass, id, changes, null);
+    }
+
+    /**
+     * updates the given properties with a single findAndModify - @Version gets incremented when present
+     *
+     * @param mongoOperations mongo template
+     * @param entityClass     class of the entity
+     * @param id              identifier
+     * @param changes         property names of the entity with their new values - null values get removed
+     * @param expectedVersion @Version the client has read - null skips the check
+     * @return updated entity
+     * @throws NotFoundException                 when no document with the id exists
+     * @throws OptimisticLockingFailureException when the document has another version
+     * @throws IllegalArgumentException          when changes is null - for example the converter doesn't implement describeUpdate
+     */
+    public static <Entity> Entity updateById(MongoOperations mongoOperations, Class<Entity> entityClass, Object id, Map<String, Object> changes, Object expectedVersion) {
+        Assert.notNull(changes, "changes are required - implement describeUpdate of the converter or load and save the entity");
+        Update update = new Update();
+        changes.forEach((property, value) -> {
+            if (value == null) {
+                update.unset(property);
+            } else {
+                update.set(property, value);
+            }
+        });
+        MongoPersistentEntity<?> persistentEntity = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        Query query = byId(mongoOperations, entityClass, id);
+        if (persistentEntity.hasVersionProperty()) {
+            String versionProperty = persistentEntity.getRequiredVersionProperty().getName();
+            if (expectedVersion != null) {
+                query.addCriteria(Criteria.where(versionProperty).is(expectedVersion));
+            }
+            update.inc(versionProperty, 1);
+        }
+        Entity result = mongoOperations.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), entityClass);
+        if (result == null) {
+            if (expectedVersion != null && mongoOperations.exists(byId(mongoOperations, entityClass, id), entityClass)) {
+                throw new OptimisticLockingFailureException(String.format("%s has been modified meanwhile", entityClass.getSimpleName()));
+            }
+            throw new NotFoundException();
+        }
+        return result;
+    }
+
+    private static Query byId(MongoOperations mongoOperations, Class<?> entityClass, Object id) {
+        String idProperty = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass).getRequiredIdProperty().getName();
+        return Query.query(Criteria.where(idProperty).is(id));
+    }
+}
@@ -0,0 +1,64 @@
+package io.rocketbase.commons.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedExecutorTest {
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        // given
+        BoundedExecutor executor = new BoundedExecutor("test", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        executor.execute(() -> {
+        });
+
+        // when
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        release.countDown();
+
+        // then
+        assertThat(executor.getRejectedCount(), equalTo(1L));
+        executor.shutdown();
+    }
+
+    @Test
+    void propagatesLocale() throws Exception {
+        // given
+        BoundedExecutor executor = new BoundedExecutor("test", 1, 1);
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+
+        // when
+        Locale locale = CompletableFuture.supplyAsync(LocaleContextHolder::getLocale, executor).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(locale, equalTo(Locale.GERMAN));
+        LocaleContextHolder.resetLocaleContext();
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
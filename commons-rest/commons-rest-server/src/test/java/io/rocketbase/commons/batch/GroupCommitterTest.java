@@ -0,0 +1,162 @@
+package io.rocketbase.commons.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class GroupCommitterTest {
+
+    @Test
+    void saveGroupsConcurrentEntities() throws Exception {
+        // given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try (GroupCommitter<String> committer = new GroupCommitter<>("test-commit", entities -> {
+            batchSizes.add(entities.size());
+            return entities.stream().map(e -> e + "-saved").collect(Collectors.toList());
+        }, 10, Duration.ofMillis(200))) {
+
+            // when
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String entity = "e" + i;
+                results.add(executor.submit(() -> committer.save(entity)));
+            }
+
+            // then
+            for (int i = 0; i < 20; i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS), equalTo("e" + i + "-saved"));
+            }
+            assertThat(committer.getEntityCount(), equalTo(20L));
+            assertThat(committer.getFlushCount(), lessThan(20L));
+            assertThat(batchSizes, everyItem(lessThanOrEqualTo(10)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void saveRetriesSinglyWhenSaveAllIsAtomic() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (GroupCommitter<String> committer = new GroupCommitter<>("test-commit", entities -> {
+            if (entities.contains("invalid")) {
+                throw new IllegalArgumentException("invalid entity");
+            }
+            return new ArrayList<>(entities);
+        }, 10, Duration.ofMillis(100), GroupCommitter.DEFAULT_WAIT_TIMEOUT, true)) {
+
+            // when
+            Future<String> first = executor.submit(() -> committer.save("a"));
+            Future<String> invalid = executor.submit(() -> committer.save("invalid"));
+            Future<String> second = executor.submit(() -> committer.save("b"));
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS), equalTo("a"));
+            assertThat(second.get(5, TimeUnit.SECONDS), equalTo("b"));
+            ExecutionException exception = null;
+            try {
+                invalid.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                exception = e;
+            }
+            assertThat(exception, notNullValue());
+            assertThat(exception.getCause(), instanceOf(IllegalArgumentException.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void saveFailsWholeBatchByDefault() throws Exception {
+        // given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (GroupCommitter<String> committer = new GroupCommitter<>("test-commit", entities -> {
+            batchSizes.add(entities.size());
+            if (entities.contains("invalid")) {
+                throw new IllegalArgumentException("invalid entity");
+            }
+            return new ArrayList<>(entities);
+        }, 2, Duration.ofSeconds(5))) {
+
+            // when
+            Future<String> valid = executor.submit(() -> committer.save("a"));
+            Future<String> invalid = executor.submit(() -> committer.save("invalid"));
+
+            // then
+            assertThat(causeOf(valid), instanceOf(IllegalArgumentException.class));
+            assertThat(causeOf(invalid), instanceOf(IllegalArgumentException.class));
+            // no single retries that could store entities twice
+            assertThat(batchSizes, contains(2));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void saveReportsPartialFailurePerEntity() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (GroupCommitter<String> committer = new GroupCommitter<>("test-commit", entities -> {
+            int index = entities.indexOf("invalid");
+            if (index >= 0) {
+                throw new PartialBatchWriteException(Collections.singletonMap(index, new IllegalArgumentException("invalid entity")), entities.size());
+            }
+            return new ArrayList<>(entities);
+        }, 2, Duration.ofSeconds(5))) {
+
+            // when
+            Future<String> valid = executor.submit(() -> committer.save("a"));
+            Future<String> invalid = executor.submit(() -> committer.save("invalid"));
+
+            // then
+            assertThat(valid.get(5, TimeUnit.SECONDS), equalTo("a"));
+            assertThat(causeOf(invalid), instanceOf(IllegalArgumentException.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void saveDoesNotHangWhenSaveAllThrowsError() {
+        // given
+        try (GroupCommitter<String> committer = new GroupCommitter<>("test-commit", entities -> {
+            if (entities.contains("error")) {
+                throw new AssertionError("unexpected");
+            }
+            return new ArrayList<>(entities);
+        }, 10, Duration.ofMillis(1), Duration.ofSeconds(5), false)) {
+
+            // when
+            IllegalStateException exception = null;
+            try {
+                committer.save("error");
+            } catch (IllegalStateException e) {
+                exception = e;
+            }
+
+            // then
+            assertThat(exception, notNullValue());
+            assertThat(exception.getCause(), instanceOf(AssertionError.class));
+            assertThat(committer.save("a"), equalTo("a"));
+        }
+    }
+
+    private static Throwable causeOf(Future<String> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.rocketbase.commons.batch;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.rocketbase.commons.exception.NotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MongoBatchSupportTest {
+
+    private MongoOperations mongoOperations;
+
+    private BulkOperations bulkOperations;
+
+    @BeforeEach
+    void setup() {
+        mongoOperations = mock(MongoOperations.class);
+        bulkOperations = mock(BulkOperations.class);
+        when(mongoOperations.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoOperations.bulkOps(any(BulkOperations.BulkMode.class), eq(VersionedEntity.class))).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void saveAllReportsFailuresPerEntity() {
+        // given
+        VersionedEntity stale = new VersionedEntity("1", 3L, "stale");
+        VersionedEntity changed = new VersionedEntity("2", 1L, "changed");
+        VersionedEntity created = new VersionedEntity(null, null, "created");
+        VersionedEntity removed = new VersionedEntity("3", 1L, "removed");
+        VersionedEntity duplicate = new VersionedEntity("4", null, "duplicate");
+        BulkWriteError duplicateError = new BulkWriteError(11000, "E11000 duplicate key error collection: test.versionedEntity index: _id_ dup key: { _id: \"4\" }", new BsonDocument(), 4);
+        BulkWriteResult result = BulkWriteResult.acknowledged(1, 1, 0, 1, Collections.emptyList());
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("failed", new MongoBulkWriteException(result, Collections.singletonList(duplicateError), null, new ServerAddress())));
+        when(mongoOperations.find(any(Query.class), eq(VersionedEntity.class))).thenReturn(Arrays.asList(new VersionedEntity("1", 5L, null), new VersionedEntity("2", 2L, null)));
+
+        // when
+        PartialBatchWriteException exception = assertThrows(PartialBatchWriteException.class,
+                () -> MongoBatchSupport.saveAll(mongoOperations, Arrays.asList(stale, changed, created, removed, duplicate)));
+
+        // then
+        assertThat(exception.getFailures().keySet(), containsInAnyOrder(0, 3, 4));
+        assertThat(exception.getFailures().get(0), instanceOf(OptimisticLockingFailureException.class));
+        assertThat(exception.getFailures().get(3), instanceOf(NotFoundException.class));
+        assertThat(exception.getFailures().get(4), instanceOf(DuplicateKeyException.class));
+        assertThat(stale.getVersion(), equalTo(3L));
+        assertThat(changed.getVersion(), equalTo(2L));
+        assertThat(created.getId(), notNullValue());
+        assertThat(created.getVersion(), equalTo(0L));
+        assertThat(removed.getVersion(), equalTo(1L));
+        verify(bulkOperations, never()).replaceOne(any(Query.class), any(), any());
+        verify(mongoOperations, never()).remove(any(Query.class), eq(VersionedEntity.class));
+    }
+
+    @Test
+    void saveAllWithoutFailures() {
+        // given
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(1, 1, 0, 1, Collections.emptyList()));
+        VersionedEntity changed = new VersionedEntity("2", 1L, "changed");
+
+        // when
+        List<VersionedEntity> saved = MongoBatchSupport.saveAll(mongoOperations, Arrays.asList(changed, new VersionedEntity(null, null, "created")));
+
+        // then
+        assertThat(saved, hasSize(2));
+        assertThat(changed.getVersion(), equalTo(2L));
+        verify(mongoOperations, never()).find(any(Query.class), eq(VersionedEntity.class));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class VersionedEntity {
+        @Id
+        private String id;
+        @Version
+        private Long version;
+        private String name;
+    }
+}
@@ -0,0 +1,96 @@
+package io.rocketbase.commons.cache;
+
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class CachingEntityReadWriteConverterTest {
+
+    @Test
+    void fromEntityReusesReadOfSameVersionAndLocale() {
+        // given
+        CountingConverter delegate = new CountingConverter();
+        CachingEntityReadWriteConverter<VersionedEntity, String, String> converter = new CachingEntityReadWriteConverter<>(delegate, true, 100, Duration.ofMinutes(1));
+
+        // when
+        converter.fromEntity(new VersionedEntity("1", 1L, "a"));
+        String cached = converter.fromEntity(new VersionedEntity("1", 1L, "a"));
+        String changed = converter.fromEntity(new VersionedEntity("1", 2L, "b"));
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+        try {
+            converter.fromEntity(new VersionedEntity("1", 2L, "b"));
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+
+        // then
+        assertThat(cached, equalTo("1:a"));
+        assertThat(changed, equalTo("1:b"));
+        assertThat(delegate.conversions.get(), equalTo(3));
+    }
+
+    @Test
+    void fromEntitiesOnlyConvertsMisses() {
+        // given
+        CountingConverter delegate = new CountingConverter();
+        CachingEntityReadWriteConverter<VersionedEntity, String, String> converter = new CachingEntityReadWriteConverter<>(delegate, false, 100, Duration.ofMinutes(1));
+        converter.fromEntity(new VersionedEntity("2", 1L, "b"));
+
+        // when
+        List<String> result = converter.fromEntities(Arrays.asList(new VersionedEntity("1", 1L, "a"),
+                new VersionedEntity("2", 1L, "b"),
+                new VersionedEntity("3", null, "c")));
+
+        // then
+        assertThat(result, equalTo(Arrays.asList("1:a", "2:b", "3:c")));
+        assertThat(delegate.conversions.get(), equalTo(3));
+        assertThat(delegate.prepared.get(), equalTo(2));
+    }
+
+    @AllArgsConstructor
+    static class VersionedEntity {
+        @Id
+        private String id;
+        @Version
+        private Long version;
+        private String name;
+    }
+
+    static class CountingConverter implements EntityReadWriteConverter<VersionedEntity, String, String> {
+        private final AtomicInteger conversions = new AtomicInteger();
+        private final AtomicInteger prepared = new AtomicInteger();
+
+        @Override
+        public String fromEntity(VersionedEntity entity) {
+            conversions.incrementAndGet();
+            return entity.id + ":" + entity.name;
+        }
+
+        @Override
+        public void prepare(List<VersionedEntity> entities) {
+            prepared.addAndGet(entities.size());
+        }
+
+        @Override
+        public VersionedEntity newEntity(String write) {
+            return null;
+        }
+
+        @Override
+        public VersionedEntity updateEntityFromEdit(String write, VersionedEntity entity) {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.rocketbase.commons.cache;
+
+import io.rocketbase.commons.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CaffeineEntityCacheTest {
+
+    @Test
+    void getReadsThroughAndCountsHits() {
+        // given
+        CaffeineEntityCache<String, String> cache = new CaffeineEntityCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            cache.get("1", key -> "entity-" + key + "-" + loads.incrementAndGet());
+        }
+
+        // then
+        assertThat(loads.get(), equalTo(1));
+        assertThat(cache.getHitCount(), equalTo(2L));
+        assertThat(cache.getMissCount(), equalTo(1L));
+    }
+
+    @Test
+    void putAndEvictWriteThrough() {
+        // given
+        CaffeineEntityCache<String, String> cache = new CaffeineEntityCache<>(10, Duration.ofMinutes(1));
+        cache.get("1", key -> "old");
+
+        // when
+        cache.put("1", "new");
+        String afterPut = cache.get("1", key -> "loaded");
+        cache.evict("1");
+        String afterEvict = cache.get("1", key -> "loaded");
+
+        // then
+        assertThat(afterPut, equalTo("new"));
+        assertThat(afterEvict, equalTo("loaded"));
+    }
+
+    @Test
+    void notFoundIsNotCached() {
+        // given
+        CaffeineEntityCache<String, String> cache = new CaffeineEntityCache<>(10, Duration.ofMinutes(1));
+
+        // when
+        assertThrows(NotFoundException.class, () -> cache.get("1", key -> {
+            throw new NotFoundException();
+        }));
+        String result = cache.get("1", key -> "created");
+
+        // then
+        assertThat(result, equalTo("created"));
+    }
+}
@@ -0,0 +1,97 @@
+package io.rocketbase.commons.cache;
+
+import io.rocketbase.commons.dto.PageableResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+class PageResultCacheTest {
+
+    @Test
+    void buildSignatureIgnoresParamOrder() {
+        // given
+        MultiValueMap<String, String> first = new LinkedMultiValueMap<>();
+        first.add("name", "abc");
+        first.add("page", "0");
+        first.add("type", "x");
+        MultiValueMap<String, String> second = new LinkedMultiValueMap<>();
+        second.add("type", "x");
+        second.add("name", "abc");
+
+        // when
+        String firstSignature = PageResultCache.buildSignature(PageRequest.of(0, 25, Sort.by("name")), first);
+        String secondSignature = PageResultCache.buildSignature(PageRequest.of(0, 25, Sort.by("name")), second);
+
+        // then
+        assertThat(firstSignature, equalTo(secondSignature));
+    }
+
+    @Test
+    void buildSignatureDiffersForPageAndFilter() {
+        // given
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("name", "abc");
+        MultiValueMap<String, String> tricky = new LinkedMultiValueMap<>();
+        tricky.add("name", "abc;|x=1");
+
+        // when
+        String signature = PageResultCache.buildSignature(PageRequest.of(0, 25), params);
+
+        // then
+        assertThat(PageResultCache.buildSignature(PageRequest.of(1, 25), params), not(equalTo(signature)));
+        assertThat(PageResultCache.buildSignature(PageRequest.of(0, 25, Sort.by("name")), params), not(equalTo(signature)));
+        assertThat(PageResultCache.buildSignature(PageRequest.of(0, 25), tricky), not(equalTo(signature)));
+    }
+
+    @Test
+    void getLoadsOnceUntilInvalidated() {
+        // given
+        PageResultCache<String> cache = new PageResultCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            cache.get(PageRequest.of(0, 10), null, () -> {
+                loads.incrementAndGet();
+                return PageableResult.content(Arrays.asList("a", "b"));
+            });
+        }
+        cache.invalidateAll();
+        PageableResult<String> result = cache.get(PageRequest.of(0, 10), null, () -> {
+            loads.incrementAndGet();
+            return PageableResult.content(Arrays.asList("c"));
+        });
+
+        // then
+        assertThat(loads.get(), equalTo(2));
+        assertThat(result.getContent(), equalTo(Arrays.asList("c")));
+        assertThat(cache.getStats().hitCount(), equalTo(2L));
+    }
+
+    @Test
+    void loadRunningDuringInvalidateIsNotServed() {
+        // given
+        PageResultCache<String> cache = new PageResultCache<>(10, Duration.ofMinutes(1));
+
+        // when
+        cache.get(PageRequest.of(0, 10), null, () -> {
+            // a write happens while the page is loaded
+            cache.invalidateAll();
+            return PageableResult.content(Arrays.asList("stale"));
+        });
+        PageableResult<String> result = cache.get(PageRequest.of(0, 10), null, () -> PageableResult.content(Arrays.asList("fresh")));
+
+        // then
+        assertThat(result.getContent(), equalTo(Arrays.asList("fresh")));
+    }
+}
@@ -0,0 +1,63 @@
+package io.rocketbase.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ParentExistenceCacheTest {
+
+    @Test
+    void getCachesExistingAndMissingParents() {
+        // given
+        ParentExistenceCache<String, String> cache = new ParentExistenceCache<>(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            cache.get("1", id -> {
+                loads.incrementAndGet();
+                return Optional.of("parent-" + id);
+            });
+            cache.exists("2", id -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            });
+        }
+
+        // then
+        assertThat(loads.get(), equalTo(2));
+        assertThat(cache.get("1", id -> Optional.empty()), equalTo(Optional.of("parent-1")));
+        assertThat(cache.exists("2", id -> Optional.of("created")), equalTo(false));
+    }
+
+    @Test
+    void invalidateReloadsParent() {
+        // given
+        ParentExistenceCache<String, String> cache = new ParentExistenceCache<>(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        cache.get("1", id -> Optional.of("old"));
+
+        // when
+        cache.invalidate("1");
+
+        // then
+        assertThat(cache.exists("1", id -> Optional.empty()), equalTo(false));
+    }
+
+    @Test
+    void missingParentExpiresWithNegativeTtl() throws Exception {
+        // given
+        ParentExistenceCache<String, String> cache = new ParentExistenceCache<>(10, Duration.ofMinutes(1), Duration.ofMillis(20));
+        cache.get("1", id -> Optional.empty());
+
+        // when
+        Thread.sleep(50);
+
+        // then
+        assertThat(cache.exists("1", id -> Optional.of("created")), equalTo(true));
+    }
+}
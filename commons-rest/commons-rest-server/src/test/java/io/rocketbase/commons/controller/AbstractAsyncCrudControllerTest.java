@@ -0,0 +1,57 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleConverter;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleEntity;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleWrite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AbstractAsyncCrudControllerTest {
+
+    @AfterEach
+    void cleanup() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getByIdConvertsWithLocaleOfRequest() throws Exception {
+        // given
+        PagingAndSortingRepository<SampleEntity, String> repository = mock(PagingAndSortingRepository.class);
+        when(repository.findById("1")).thenReturn(Optional.of(new SampleEntity("1", "first")));
+        LocaleAwareController controller = new LocaleAwareController(repository);
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+
+        try {
+            // when
+            String result = controller.getById("1").get();
+
+            // then
+            assertThat(result, equalTo("first-de"));
+        } finally {
+            controller.destroy();
+        }
+    }
+
+    static class LocaleAwareController extends AbstractAsyncCrudController<SampleEntity, String, SampleWrite, String, SampleConverter> {
+
+        LocaleAwareController(PagingAndSortingRepository<SampleEntity, String> repository) {
+            super(repository, new SampleConverter() {
+                @Override
+                public String fromEntity(SampleEntity entity) {
+                    return entity.getName() + "-" + LocaleContextHolder.getLocale().getLanguage();
+                }
+            }, 1, 1);
+        }
+    }
+}
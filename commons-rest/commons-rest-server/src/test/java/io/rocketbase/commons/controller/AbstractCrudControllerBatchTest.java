@@ -0,0 +1,217 @@
+package io.rocketbase.commons.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rocketbase.commons.batch.PartialBatchWriteException;
+import io.rocketbase.commons.converter.EntityReadWriteConverter;
+import io.rocketbase.commons.dto.batch.BatchResult;
+import io.rocketbase.commons.dto.batch.BatchWrite;
+import io.rocketbase.commons.dto.batch.ImportResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.validation.Validation;
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AbstractCrudControllerBatchTest {
+
+    private final Map<String, SampleEntity> storage = new HashMap<>();
+
+    private PagingAndSortingRepository<SampleEntity, String> repository;
+
+    private SampleController controller;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        storage.clear();
+        storage.put("1", new SampleEntity("1", "first"));
+        storage.put("2", new SampleEntity("2", "second"));
+        repository = mock(PagingAndSortingRepository.class);
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<SampleEntity> result = new ArrayList<>();
+            for (SampleEntity entity : (Iterable<SampleEntity>) invocation.getArgument(0)) {
+                if (entity.getId() == null) {
+                    entity.setId(UUID.randomUUID().toString());
+                }
+                storage.put(entity.getId(), entity);
+                result.add(entity);
+            }
+            return result;
+        });
+        when(repository.findAllById(any())).thenAnswer(invocation -> StreamSupport.stream(((Iterable<String>) invocation.getArgument(0)).spliterator(), false)
+                .map(storage::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        doAnswer(invocation -> {
+            ((Iterable<String>) invocation.getArgument(0)).forEach(storage::remove);
+            return null;
+        }).when(repository).deleteAllById(any());
+        controller = new SampleController(repository);
+        ReflectionTestUtils.setField(controller, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void createBatchReportsInvalidEntries() {
+        // given
+        List<SampleWrite> writes = Arrays.asList(new SampleWrite("a"), new SampleWrite(null), new SampleWrite("c"));
+
+        // when
+        BatchResult<String> result = controller.createBatch(writes);
+
+        // then
+        assertThat(result.getItems().stream().map(item -> item.getStatus()).collect(Collectors.toList()), contains(201, 400, 201));
+        assertThat(result.getSuccessData(), contains("a", "c"));
+        assertThat(result.getItems().get(1).getError().hasField("name"), equalTo(true));
+        verify(repository, times(2)).saveAll(any());
+    }
+
+    @Test
+    void updateBatchReportsMissingEntries() {
+        // given
+        List<BatchWrite<String, SampleWrite>> writes = Arrays.asList(new BatchWrite<>("2", new SampleWrite("changed")), new BatchWrite<>("unknown", new SampleWrite("x")));
+
+        // when
+        BatchResult<String> result = controller.updateBatch(writes);
+
+        // then
+        assertThat(result.getItems().stream().map(item -> item.getStatus()).collect(Collectors.toList()), contains(200, 404));
+        assertThat(storage.get("2").getName(), equalTo("changed"));
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void updateBatchReportsOnlyFailedEntriesOfPartialChunk() {
+        // given
+        List<SampleEntity> updated = new ArrayList<>();
+        SampleController partialController = new SampleController(repository) {
+            @Override
+            protected List<SampleEntity> saveBatchChunk(List<SampleEntity> entities) {
+                throw new PartialBatchWriteException(Collections.singletonMap(0, new OptimisticLockingFailureException("stale")), entities.size());
+            }
+
+            @Override
+            protected void afterUpdate(SampleEntity entity) {
+                updated.add(entity);
+            }
+        };
+        ReflectionTestUtils.setField(partialController, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        List<BatchWrite<String, SampleWrite>> writes = Arrays.asList(new BatchWrite<>("1", new SampleWrite("stale")), new BatchWrite<>("2", new SampleWrite("changed")));
+
+        // when
+        BatchResult<String> result = partialController.updateBatch(writes);
+
+        // then
+        assertThat(result.getItems().stream().map(item -> item.getStatus()).collect(Collectors.toList()), contains(409, 200));
+        assertThat(result.getSuccessData(), contains("changed"));
+        assertThat(updated.stream().map(SampleEntity::getId).collect(Collectors.toList()), contains("2"));
+    }
+
+    @Test
+    void deleteBatchReportsMissingEntries() {
+        // given
+        List<String> ids = Arrays.asList("1", "unknown", "1");
+
+        // when
+        BatchResult<String> result = controller.deleteBatch(ids);
+
+        // then
+        assertThat(result.getItems().stream().map(item -> item.getStatus()).collect(Collectors.toList()), contains(204, 404, 404));
+        verify(repository, times(1)).deleteAllById(Arrays.asList("1"));
+        assertThat(storage.containsKey("1"), equalTo(false));
+    }
+
+    @Test
+    void lookupKeepsRequestOrderAndReportsMissing() {
+        // when
+        BatchResult<String> result = controller.lookup(Arrays.asList("2", "unknown", "1"));
+
+        // then
+        assertThat(result.getItems().stream().map(item -> item.getStatus()).collect(Collectors.toList()), contains(200, 404, 200));
+        assertThat(result.getSuccessData(), contains("second", "first"));
+        // one query per chunk of 2
+        verify(repository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void importEntitiesStoresChunksAndReportsFailures() throws Exception {
+        // given
+        String body = "{\"name\":\"a\"}\n{\"name\":null}\n{\"name\":[1]}\n{\"name\":\"d\"}\n{\"name\":\"e\"}\n";
+
+        // when
+        ImportResult<String> result = controller.importEntities(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result.getCreated(), equalTo(3L));
+        assertThat(result.getFailed(), equalTo(2L));
+        assertThat(result.getFailures().stream().map(item -> item.getIndex()).collect(Collectors.toList()), contains(1, 2));
+        assertThat(storage.size(), equalTo(5));
+        verify(repository, times(2)).saveAll(any());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SampleEntity {
+        @Id
+        private String id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SampleWrite {
+        @NotNull
+        private String name;
+    }
+
+    static class SampleController extends AbstractCrudController<SampleEntity, String, SampleWrite, String, SampleConverter> {
+
+        SampleController(PagingAndSortingRepository<SampleEntity, String> repository) {
+            super(repository, new SampleConverter());
+        }
+
+        @Override
+        protected int getBatchChunkSize() {
+            return 2;
+        }
+    }
+
+    static class SampleConverter implements EntityReadWriteConverter<SampleEntity, String, SampleWrite> {
+
+        @Override
+        public String fromEntity(SampleEntity entity) {
+            return entity.getName();
+        }
+
+        @Override
+        public SampleEntity newEntity(SampleWrite write) {
+            return new SampleEntity(null, write.getName());
+        }
+
+        @Override
+        public SampleEntity updateEntityFromEdit(SampleWrite write, SampleEntity entity) {
+            entity.setName(write.getName());
+            return entity;
+        }
+    }
+}
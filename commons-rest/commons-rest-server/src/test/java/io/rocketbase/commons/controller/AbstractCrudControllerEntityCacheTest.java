@@ -0,0 +1,80 @@
+package io.rocketbase.commons.controller;
+
+import io.rocketbase.commons.cache.CaffeineEntityCache;
+import io.rocketbase.commons.cache.EntityCache;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleConverter;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleEntity;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleWrite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AbstractCrudControllerEntityCacheTest {
+
+    private PagingAndSortingRepository<SampleEntity, String> repository;
+
+    private CachingController controller;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        repository = mock(PagingAndSortingRepository.class);
+        // each load returns a new instance like a database
+        when(repository.findById("1")).thenAnswer(invocation -> Optional.of(new SampleEntity("1", "first")));
+        controller = new CachingController(repository);
+    }
+
+    @Test
+    void failedUpdateDoesNotChangeCachedEntity() {
+        // given
+        SampleEntity cached = controller.getEntity("1");
+        when(repository.save(any())).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // when
+        assertThrows(OptimisticLockingFailureException.class, () -> controller.update("1", new SampleWrite("changed")));
+
+        // then
+        assertThat(cached.getName(), equalTo("first"));
+        assertThat(controller.getById("1"), equalTo("first"));
+    }
+
+    @Test
+    void updatePutsSavedEntityIntoCache() {
+        // given
+        SampleEntity cached = controller.getEntity("1");
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        String result = controller.update("1", new SampleWrite("changed"));
+
+        // then
+        assertThat(result, equalTo("changed"));
+        assertThat(cached.getName(), equalTo("first"));
+        assertThat(controller.getById("1"), equalTo("changed"));
+    }
+
+    static class CachingController extends AbstractCrudController<SampleEntity, String, SampleWrite, String, SampleConverter> {
+
+        private final EntityCache<String, SampleEntity> entityCache = new CaffeineEntityCache<>(10, Duration.ofMinutes(1));
+
+        CachingController(PagingAndSortingRepository<SampleEntity, String> repository) {
+            super(repository, new SampleConverter());
+        }
+
+        @Override
+        protected EntityCache<String, SampleEntity> getEntityCache() {
+            return entityCache;
+        }
+    }
+}
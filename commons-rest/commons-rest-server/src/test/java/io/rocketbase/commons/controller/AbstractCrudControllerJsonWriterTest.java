@@ -0,0 +1,131 @@
+package io.rocketbase.commons.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleEntity;
+import io.rocketbase.commons.controller.AbstractCrudControllerBatchTest.SampleWrite;
+import io.rocketbase.commons.converter.EntityJsonWriter;
+import io.rocketbase.commons.dto.ConvertingPageableResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AbstractCrudControllerJsonWriterTest {
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private HttpServletRequest request;
+
+    private HttpServletResponse response;
+
+    private PagingAndSortingRepository<SampleEntity, String> repository;
+
+    private JsonWriterController controller;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() throws Exception {
+        repository = mock(PagingAndSortingRepository.class);
+        when(repository.findById("1")).thenReturn(Optional.of(new SampleEntity("1", "first")));
+        when(repository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(Arrays.asList(new SampleEntity("1", "first")), PageRequest.of(0, 1), 1));
+        controller = new JsonWriterController(repository);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getByIdWritesEntityWithoutRead() {
+        // when
+        String result = controller.getById("1");
+
+        // then
+        assertThat(result, nullValue());
+        assertThat(new String(body.toByteArray(), StandardCharsets.UTF_8), equalTo("{\"id\":\"1\",\"name\":\"first\"}"));
+        verify(response).setContentType("application/json");
+    }
+
+    @Test
+    void getByIdConvertsWhenJsonIsNotAccepted() {
+        // given
+        when(request.getHeader("Accept")).thenReturn("application/xml");
+
+        // when
+        String result = controller.getById("1");
+
+        // then
+        assertThat(result, equalTo("first"));
+        assertThat(body.size(), equalTo(0));
+    }
+
+    @Test
+    void findWritesContentDuringSerialization() throws Exception {
+        // when
+        Object result = controller.find(null);
+
+        // then
+        assertThat(result, instanceOf(ConvertingPageableResult.class));
+        assertThat(new ObjectMapper().writeValueAsString(result), containsString("\"content\":[{\"id\":\"1\",\"name\":\"first\"}]"));
+    }
+
+    static class JsonWriterController extends AbstractCrudController<SampleEntity, String, SampleWrite, String, JsonWriterConverter> {
+
+        JsonWriterController(PagingAndSortingRepository<SampleEntity, String> repository) {
+            super(repository, new JsonWriterConverter());
+        }
+    }
+
+    static class JsonWriterConverter extends AbstractCrudControllerBatchTest.SampleConverter {
+
+        @Override
+        public EntityJsonWriter<SampleEntity> getJsonWriter() {
+            return (entity, generator, serializers) -> {
+                generator.writeStartObject();
+                generator.writeStringField("id", entity.getId());
+                generator.writeStringField("name", entity.getName());
+                generator.writeEndObject();
+            };
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.rocketbase.commons.etag;
+
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ETagSupportTest {
+
+    @Test
+    void versionETagOfEntity() {
+        // given
+        VersionedEntity entity = new VersionedEntity("1", 3L);
+
+        // when
+        String eTag = ETagSupport.versionETag(entity);
+
+        // then
+        assertThat(ETagSupport.getId(entity), equalTo("1"));
+        assertThat(ETagSupport.getVersion(entity), equalTo(3L));
+        assertThat(eTag, notNullValue());
+        assertThat(ETagSupport.versionETag(new VersionedEntity("1", 3L)), equalTo(eTag));
+        assertThat(ETagSupport.versionETag(new VersionedEntity("1", 4L)), not(equalTo(eTag)));
+        assertThat(ETagSupport.versionETag(new VersionedEntity("2", 3L)), not(equalTo(eTag)));
+        assertThat(ETagSupport.versionETag(new OtherVersionedEntity("1", 3L)), not(equalTo(eTag)));
+    }
+
+    @Test
+    void versionETagWithoutVersion() {
+        assertThat(ETagSupport.versionETag(new PlainEntity("1")), nullValue());
+        assertThat(ETagSupport.hasVersion(PlainEntity.class), equalTo(false));
+        assertThat(ETagSupport.hasVersion(VersionedEntity.class), equalTo(true));
+        assertThat(ETagSupport.versionETag(new PageImpl<>(Arrays.asList(new PlainEntity("1")), PageRequest.of(0, 10), 1)), nullValue());
+    }
+
+    @Test
+    void versionETagOfPage() {
+        // given
+        PageImpl<VersionedEntity> page = new PageImpl<>(Arrays.asList(new VersionedEntity("1", 1L), new VersionedEntity("2", 1L)), PageRequest.of(0, 2), 4);
+
+        // when
+        String eTag = ETagSupport.versionETag(page);
+
+        // then
+        assertThat(eTag, notNullValue());
+        assertThat(ETagSupport.versionETag(new PageImpl<>(Arrays.asList(new VersionedEntity("1", 1L), new VersionedEntity("3", 1L)), PageRequest.of(0, 2), 4)), not(equalTo(eTag)));
+        assertThat(ETagSupport.versionETag(new PageImpl<>(Arrays.asList(new VersionedEntity("1", 1L), new VersionedEntity("2", 1L)), PageRequest.of(0, 2), 5)), not(equalTo(eTag)));
+    }
+
+    @AllArgsConstructor
+    static class VersionedEntity {
+        @Id
+        private String id;
+        @Version
+        private Long version;
+    }
+
+    @AllArgsConstructor
+    static class OtherVersionedEntity {
+        @Id
+        private String id;
+        @Version
+        private Long version;
+    }
+
+    @AllArgsConstructor
+    static class PlainEntity {
+        @Id
+        private String id;
+    }
+}
@@ -0,0 +1,122 @@
+package io.rocketbase.commons.event;
+
+import io.rocketbase.commons.dto.event.ChangeEvent;
+import io.rocketbase.commons.dto.event.ChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+class ChangeEventBusTest {
+
+    @Test
+    void subscribeResumesAfterLastEventId() throws Exception {
+        // given
+        try (ChangeEventBus<String> bus = new ChangeEventBus<>("test-events", 10)) {
+            bus.publish(ChangeType.CREATED, "1", "a");
+            bus.publish(ChangeType.UPDATED, "1", "b");
+            bus.publish(ChangeType.DELETED, "2", null);
+            List<ChangeEvent<String>> first = collect(bus, null, 1, () -> bus.publish(ChangeType.CREATED, "3", "c"));
+
+            // when
+            List<ChangeEvent<String>> resumed = collect(bus, first.get(0).getEventId() - 3, 3, () -> {
+            });
+
+            // then
+            assertThat(first.get(0).getId(), equalTo("3"));
+            assertThat(resumed.stream().map(ChangeEvent::getType).collect(Collectors.toList()), contains(ChangeType.UPDATED, ChangeType.DELETED, ChangeType.CREATED));
+        }
+    }
+
+    @Test
+    void subscribeWithOutdatedIdGetsResync() throws Exception {
+        // given
+        try (ChangeEventBus<String> bus = new ChangeEventBus<>("test-events", 2)) {
+            for (int i = 0; i < 5; i++) {
+                bus.publish(ChangeType.CREATED, String.valueOf(i), "v" + i);
+            }
+
+            // when
+            List<ChangeEvent<String>> events = collect(bus, 1L, 1, () -> {
+            });
+
+            // then
+            assertThat(events.get(0).getType(), equalTo(ChangeType.RESYNC));
+        }
+    }
+
+    @Test
+    void subscribeWithUnparsableIdGetsResync() throws Exception {
+        // given
+        try (ChangeEventBus<String> bus = new ChangeEventBus<>("test-events", 2)) {
+
+            // when
+            List<ChangeEvent<String>> events = collect(bus, Long.MIN_VALUE, 1, () -> {
+            });
+
+            // then
+            assertThat(events.get(0).getType(), equalTo(ChangeType.RESYNC));
+        }
+    }
+
+    @Test
+    void slowSubscriberDoesNotBlockOthersAndGetsResync() throws Exception {
+        // given
+        try (ChangeEventBus<String> bus = new ChangeEventBus<>("test-events", 10, 2, 2)) {
+            CountDownLatch release = new CountDownLatch(1);
+            List<ChangeEvent<String>> slow = new CopyOnWriteArrayList<>();
+            CountDownLatch slowDone = new CountDownLatch(1);
+            bus.subscribe(null, event -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slow.add(event);
+                if (event.getType() == ChangeType.RESYNC) {
+                    slowDone.countDown();
+                }
+            });
+
+            List<ChangeEvent<String>> fast = new CopyOnWriteArrayList<>();
+            bus.subscribe(null, fast::add);
+
+            // when
+            for (int i = 0; i < 10; i++) {
+                bus.publish(ChangeType.CREATED, String.valueOf(i), "v" + i);
+                long deadline = System.currentTimeMillis() + 5000;
+                while (fast.size() <= i && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+            }
+            release.countDown();
+
+            // then
+            assertThat(fast.size(), equalTo(10));
+            assertThat(slowDone.await(5, TimeUnit.SECONDS), equalTo(true));
+            assertThat(slow.size(), lessThan(10));
+            assertThat(bus.getResyncCount(), greaterThan(0L));
+        }
+    }
+
+    private List<ChangeEvent<String>> collect(ChangeEventBus<String> bus, Long lastEventId, int count, Runnable afterSubscribe) throws InterruptedException {
+        List<ChangeEvent<String>> events = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(count);
+        bus.subscribe(lastEventId, event -> {
+            events.add(event);
+            latch.countDown();
+        });
+        afterSubscribe.run();
+        assertThat(latch.await(5, TimeUnit.SECONDS), equalTo(true));
+        return events;
+    }
+}
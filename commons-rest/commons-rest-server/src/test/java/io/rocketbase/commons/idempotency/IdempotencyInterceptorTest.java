@@ -0,0 +1,219 @@
+package io.rocketbase.commons.idempotency;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyInterceptorTest {
+
+    private static final String BODY = "{\"name\":\"rocketbase\"}";
+
+    private final HandlerMethod handler = new HandlerMethod(this, ReflectionUtils.findMethod(IdempotencyInterceptorTest.class, "create"));
+
+    public String create() {
+        return "created";
+    }
+
+    @Test
+    void repeatGetsWrittenResponseReplayed() throws Exception {
+        // given
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(new CaffeineIdempotencyStore(10, Duration.ofMinutes(1)), Duration.ofSeconds(1));
+        ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+        HttpServletResponse repeatResponse = response(replayed);
+
+        // when
+        boolean firstHandled = handle(interceptor, request("abc", BODY, "alice"), 201, "{\"id\":\"1\"}");
+        boolean repeatHandled = interceptor.preHandle(request("abc", BODY, "alice"), repeatResponse, handler);
+
+        // then
+        assertThat(firstHandled, equalTo(true));
+        assertThat(repeatHandled, equalTo(false));
+        assertThat(new String(replayed.toByteArray(), StandardCharsets.UTF_8), equalTo("{\"id\":\"1\"}"));
+        verify(repeatResponse).setStatus(201);
+        verify(repeatResponse).setContentType("application/json");
+        verify(repeatResponse).setHeader(IdempotencyInterceptor.REPLAYED_HEADER, "true");
+        assertThat(interceptor.preHandle(request("other", BODY, "alice"), response(new ByteArrayOutputStream()), handler), equalTo(true));
+    }
+
+    @Test
+    void repeatWithOtherBodyIsRejected() throws Exception {
+        // given
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(new CaffeineIdempotencyStore(10, Duration.ofMinutes(1)), Duration.ofSeconds(1));
+        handle(interceptor, request("abc", BODY, "alice"), 201, "{\"id\":\"1\"}");
+
+        // when
+        HttpServletRequest repeat = request("abc", "{\"name\":\"other\"}", "alice");
+
+        // then
+        Assertions.assertThrows(IdempotencyKeyMismatchException.class, () -> interceptor.preHandle(repeat, response(new ByteArrayOutputStream()), handler));
+    }
+
+    @Test
+    void keysAreScopedByCaller() throws Exception {
+        // given
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(new CaffeineIdempotencyStore(10, Duration.ofMinutes(1)), Duration.ofSeconds(1));
+        handle(interceptor, request("abc", BODY, "alice"), 201, "{\"id\":\"1\"}");
+
+        // when
+        boolean otherCallerHandled = interceptor.preHandle(request("abc", BODY, "bob"), response(new ByteArrayOutputStream()), handler);
+
+        // then
+        assertThat(otherCallerHandled, equalTo(true));
+    }
+
+    @Test
+    void failedCallIsNotStored() throws Exception {
+        // given
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(new CaffeineIdempotencyStore(10, Duration.ofMinutes(1)), Duration.ofSeconds(1));
+        HttpServletRequest first = request("abc", BODY, "alice");
+
+        // when
+        interceptor.preHandle(first, response(new ByteArrayOutputStream()), handler);
+        interceptor.afterCompletion(first, null, handler, new IllegalStateException("db down"));
+        handle(interceptor, request("error", BODY, "alice"), 409, "{\"status\":409}");
+
+        // then
+        assertThat(interceptor.preHandle(request("abc", BODY, "alice"), response(new ByteArrayOutputStream()), handler), equalTo(true));
+        assertThat(interceptor.preHandle(request("error", BODY, "alice"), response(new ByteArrayOutputStream()), handler), equalTo(true));
+    }
+
+    @Test
+    void responseAboveCaptureSizeIsNotStored() throws Exception {
+        // given
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(new CaffeineIdempotencyStore(10, Duration.ofMinutes(1)), Duration.ofSeconds(1));
+        char[] large = new char[2048];
+        Arrays.fill(large, 'x');
+
+        // when
+        handle(interceptor, request("abc", BODY, "alice"), 200, new String(large));
+
+        // then
+        assertThat(interceptor.preHandle(request("abc", BODY, "alice"), response(new ByteArrayOutputStream()), handler), equalTo(true));
+    }
+
+    @Test
+    void concurrentRepeatWaitsForFirstCall() throws Exception {
+        // given
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(new CaffeineIdempotencyStore(10, Duration.ofMinutes(1)), Duration.ofSeconds(5));
+        HttpServletRequest first = request("abc", BODY, "alice");
+        IdempotencyResponseWrapper firstResponse = new IdempotencyResponseWrapper(response(new ByteArrayOutputStream()), 1024);
+        ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+        interceptor.preHandle(first, firstResponse, handler);
+
+        // when
+        CompletableFuture<Boolean> repeat = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.preHandle(request("abc", BODY, "alice"), response(replayed), handler);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        boolean waiting = !repeat.isDone();
+        write(first, firstResponse, 201, "{\"id\":\"1\"}");
+        interceptor.afterCompletion(first, firstResponse, handler, null);
+
+        // then
+        assertThat(waiting, equalTo(true));
+        assertThat(repeat.get(1, TimeUnit.SECONDS), equalTo(false));
+        assertThat(new String(replayed.toByteArray(), StandardCharsets.UTF_8), equalTo("{\"id\":\"1\"}"));
+        assertThat(interceptor.getInflightCount(), equalTo(0));
+    }
+
+    private boolean handle(IdempotencyInterceptor interceptor, HttpServletRequest request, int status, String body) throws Exception {
+        IdempotencyResponseWrapper response = new IdempotencyResponseWrapper(response(new ByteArrayOutputStream()), 1024);
+        boolean handled = interceptor.preHandle(request, response, handler);
+        write(request, response, status, body);
+        interceptor.afterCompletion(request, response, handler, null);
+        return handled;
+    }
+
+    /**
+     * simulates the controller - reads the request body and writes the response
+     */
+    private static void write(HttpServletRequest request, IdempotencyResponseWrapper response, int status, String body) throws Exception {
+        StreamUtils.copyToByteArray(request.getInputStream());
+        response.setStatus(status);
+        when(((HttpServletResponse) response.getResponse()).getStatus()).thenReturn(status);
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HttpServletRequest request(String idempotencyKey, String body, String caller) throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader(IdempotencyInterceptor.HEADER)).thenReturn(idempotencyKey);
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/company");
+        when(request.getUserPrincipal()).thenReturn(() -> caller);
+        when(request.getContentLength()).thenReturn(-1);
+        ByteArrayInputStream content = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        when(request.getInputStream()).thenReturn(new ServletInputStream() {
+            @Override
+            public int read() {
+                return content.read();
+            }
+
+            @Override
+            public boolean isFinished() {
+                return content.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+        });
+        when(request.getAttribute(anyString())).thenAnswer(i -> attributes.get(i.<String>getArgument(0)));
+        doAnswer(i -> attributes.put(i.getArgument(0), i.getArgument(1))).when(request).setAttribute(anyString(), any());
+        doAnswer(i -> attributes.remove(i.<String>getArgument(0))).when(request).removeAttribute(anyString());
+        return new IdempotencyRequestWrapper(request);
+    }
+
+    private static HttpServletResponse response(ByteArrayOutputStream body) throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getContentType()).thenReturn("application/json");
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+        return response;
+    }
+}
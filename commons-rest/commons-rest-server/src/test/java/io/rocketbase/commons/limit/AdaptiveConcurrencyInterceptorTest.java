@@ -0,0 +1,92 @@
+package io.rocketbase.commons.limit;
+
+import io.rocketbase.commons.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AdaptiveConcurrencyInterceptorTest {
+
+    private final AdaptiveConcurrencyInterceptor interceptor = new AdaptiveConcurrencyInterceptor(4, 1, 4, 0.75, 0.5);
+
+    @Test
+    void bulkWritesAreShedBeforeReadsOfSameController() {
+        // given
+        SampleController controller = new SampleController();
+        HandlerMethod find = new HandlerMethod(controller, ReflectionUtils.findMethod(SampleController.class, "find"));
+        HandlerMethod createBatch = new HandlerMethod(controller, ReflectionUtils.findMethod(SampleController.class, "createBatch"));
+
+        // when
+        interceptor.preHandle(request("GET", "/sample"), mock(HttpServletResponse.class), find);
+        interceptor.preHandle(request("POST", "/sample/batch"), mock(HttpServletResponse.class), createBatch);
+
+        // then
+        assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("POST", "/sample/batch"), mock(HttpServletResponse.class), createBatch));
+        interceptor.preHandle(request("GET", "/sample"), mock(HttpServletResponse.class), find);
+        interceptor.preHandle(request("GET", "/sample"), mock(HttpServletResponse.class), find);
+        assertThat(interceptor.getLimiters().size(), equalTo(1));
+        assertThat(interceptor.getLimiters().get("SampleController").getInflight(), equalTo(4));
+    }
+
+    @Test
+    void startedStreamsFreeTheirSlotWithoutLatencySample() {
+        // given
+        SampleController controller = new SampleController();
+        HandlerMethod events = new HandlerMethod(controller, ReflectionUtils.findMethod(SampleController.class, "events"));
+        HandlerMethod find = new HandlerMethod(controller, ReflectionUtils.findMethod(SampleController.class, "find"));
+        HttpServletRequest stream = request("GET", "/sample/events");
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            HttpServletRequest subscriber = request("GET", "/sample/events");
+            interceptor.preHandle(subscriber, mock(HttpServletResponse.class), events);
+            interceptor.afterConcurrentHandlingStarted(subscriber, mock(HttpServletResponse.class), events);
+        }
+        interceptor.preHandle(stream, mock(HttpServletResponse.class), events);
+        interceptor.afterConcurrentHandlingStarted(stream, mock(HttpServletResponse.class), events);
+        int limitBeforeStreamEnd = interceptor.getLimiters().get("SampleController").getLimit();
+        // async dispatch after the stream has ended
+        interceptor.preHandle(stream, mock(HttpServletResponse.class), events);
+        interceptor.afterCompletion(stream, mock(HttpServletResponse.class), events, null);
+
+        // then
+        assertThat(interceptor.getLimiters().get("SampleController").getInflight(), equalTo(0));
+        assertThat(interceptor.getLimiters().get("SampleController").getLimit(), equalTo(limitBeforeStreamEnd));
+        assertThat(interceptor.preHandle(request("GET", "/sample"), mock(HttpServletResponse.class), find), equalTo(true));
+    }
+
+    private HttpServletRequest request(String method, String uri) {
+        Map<String, Object> attributes = new HashMap<>();
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getRequestURI()).thenReturn(uri);
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1))).when(request).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.<String>getArgument(0))).when(request).removeAttribute(anyString());
+        return request;
+    }
+
+    static class SampleController {
+
+        public void find() {
+        }
+
+        public void createBatch() {
+        }
+
+        public void events() {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.rocketbase.commons.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class GradientLimiterTest {
+
+    @Test
+    void tryAcquireRejectsAboveShareOfLimit() {
+        // given
+        GradientLimiter limiter = new GradientLimiter(10, 1, 100);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(0.5), notNullValue());
+        }
+
+        // then
+        assertThat(limiter.tryAcquire(0.5), nullValue());
+        assertThat(limiter.tryAcquire(1.0), notNullValue());
+        assertThat(limiter.getInflight(), equalTo(6));
+        assertThat(limiter.getRejectedCount(), equalTo(1L));
+    }
+
+    @Test
+    void limitGrowsWithStableLatencyAndShrinksWhenLatencyRises() {
+        // given
+        GradientLimiter limiter = new GradientLimiter(20, 5, 200);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limiter.update(fast, limiter.getLimit(), true);
+        }
+        int grown = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limiter.update(fast * 10, grown, true);
+        }
+
+        // then
+        assertThat(grown, greaterThan(20));
+        assertThat(limiter.getLimit(), lessThan(grown / 2));
+    }
+
+    @Test
+    void limitStaysWhenNotUsed() {
+        // given
+        GradientLimiter limiter = new GradientLimiter(20, 5, 200);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limiter.update(TimeUnit.MILLISECONDS.toNanos(10), 1, true);
+        }
+
+        // then
+        assertThat(limiter.getLimit(), equalTo(20));
+    }
+}
@@ -0,0 +1,153 @@
+package io.rocketbase.commons.patch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.rocketbase.commons.exception.BadRequestException;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MergePatchSupportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void readCollectsTouchedProperties() throws Exception {
+        // given
+        ObjectNode patch = (ObjectNode) objectMapper.readTree("{\"name\": \"changed\", \"url\": null}");
+
+        // when
+        MergePatch<SampleWrite> result = MergePatchSupport.read(objectMapper, patch, SampleWrite.class);
+
+        // then
+        assertThat(result.getProperties(), containsInAnyOrder("name", "url"));
+        assertThat(result.getWrite().getName(), equalTo("changed"));
+    }
+
+    @Test
+    void validateOnlyTouchedProperties() throws Exception {
+        // given
+        MergePatch<SampleWrite> valid = MergePatchSupport.read(objectMapper, (ObjectNode) objectMapper.readTree("{\"name\": \"changed\"}"), SampleWrite.class);
+        MergePatch<SampleWrite> invalid = MergePatchSupport.read(objectMapper, (ObjectNode) objectMapper.readTree("{\"email\": \"no-mail\"}"), SampleWrite.class);
+
+        // when
+        MergePatchSupport.validate(validator, valid);
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> MergePatchSupport.validate(validator, invalid));
+
+        // then
+        assertThat(exception.getErrorResponse().hasField("email"), equalTo(true));
+    }
+
+    @Test
+    void copyPropertiesKeepsUntouched() throws Exception {
+        // given
+        SampleEntity entity = new SampleEntity();
+        entity.setName("name");
+        entity.setEmail("mail@rocketbase.io");
+        entity.setUrl("https://www.rocketbase.io");
+        MergePatch<SampleWrite> patch = MergePatchSupport.read(objectMapper, (ObjectNode) objectMapper.readTree("{\"name\": \"changed\", \"url\": null}"), SampleWrite.class);
+
+        // when
+        MergePatchSupport.copyProperties(patch, entity);
+
+        // then
+        assertThat(entity.getName(), equalTo("changed"));
+        assertThat(entity.getEmail(), equalTo("mail@rocketbase.io"));
+        assertThat(entity.getUrl(), nullValue());
+    }
+
+    @Test
+    void copyPropertiesMergesNestedObjects() throws Exception {
+        // given
+        SampleEntity entity = new SampleEntity();
+        entity.setName("name");
+        entity.setAddress(new SampleAddress());
+        entity.getAddress().setCity("Hamburg");
+        entity.getAddress().setStreet("Hauptstrasse");
+        entity.getAddress().setZip("20095");
+        entity.setAttributes(new HashMap<>());
+        entity.getAttributes().put("keep", "value");
+        entity.getAttributes().put("remove", "value");
+        MergePatch<SampleWrite> patch = MergePatchSupport.read(objectMapper, (ObjectNode) objectMapper.readTree("{\"address\": {\"city\": \"Berlin\", \"zip\": null}, \"attributes\": {\"remove\": null, \"added\": \"new\"}}"), SampleWrite.class);
+
+        // when
+        MergePatchSupport.copyProperties(patch, entity);
+
+        // then
+        assertThat(entity.getName(), equalTo("name"));
+        assertThat(entity.getAddress().getCity(), equalTo("Berlin"));
+        assertThat(entity.getAddress().getStreet(), equalTo("Hauptstrasse"));
+        assertThat(entity.getAddress().getZip(), nullValue());
+        assertThat(entity.getAttributes(), equalTo(new HashMap<String, String>() {{
+            put("keep", "value");
+            put("added", "new");
+        }}));
+    }
+
+    @Test
+    void copyPropertiesTakesNestedObjectWhenMissing() throws Exception {
+        // given
+        SampleEntity entity = new SampleEntity();
+        MergePatch<SampleWrite> patch = MergePatchSupport.read(objectMapper, (ObjectNode) objectMapper.readTree("{\"address\": {\"city\": \"Berlin\"}}"), SampleWrite.class);
+
+        // when
+        MergePatchSupport.copyProperties(patch, entity);
+
+        // then
+        assertThat(entity.getAddress().getCity(), equalTo("Berlin"));
+    }
+
+    @Test
+    void copyPropertiesRejectsNotWritable() throws Exception {
+        // given
+        SampleEntity entity = new SampleEntity();
+        MergePatch<SampleWrite> patch = MergePatchSupport.read(objectMapper, (ObjectNode) objectMapper.readTree("{\"name\": \"changed\", \"internal\": \"value\"}"), SampleWrite.class);
+
+        // when
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> MergePatchSupport.copyProperties(patch, entity));
+
+        // then
+        assertThat(exception.getErrorResponse().hasField("internal"), equalTo(true));
+    }
+
+    @Data
+    public static class SampleWrite {
+        private String name;
+        @NotNull
+        @Email
+        private String email;
+        private String url;
+        private String internal;
+        private SampleAddress address;
+        private Map<String, String> attributes;
+    }
+
+    @Data
+    public static class SampleAddress {
+        private String street;
+        private String zip;
+        private String city;
+    }
+
+    @Data
+    public static class SampleEntity {
+        private String id;
+        private String name;
+        private String email;
+        private String url;
+        private SampleAddress address;
+        private Map<String, String> attributes;
+    }
+}
@@ -0,0 +1,75 @@
+package io.rocketbase.commons.write;
+
+import io.rocketbase.commons.exception.NotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MongoWriteSupportTest {
+
+    private MongoOperations mongoOperations;
+
+    @BeforeEach
+    void setup() {
+        mongoOperations = mock(MongoOperations.class);
+        when(mongoOperations.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+    }
+
+    @Test
+    void updateByIdRequiresChanges() {
+        assertThrows(IllegalArgumentException.class, () -> MongoWriteSupport.updateById(mongoOperations, VersionedEntity.class, "1", null));
+    }
+
+    @Test
+    void updateByIdChecksExpectedVersion() {
+        // given
+        Map<String, Object> changes = Collections.singletonMap("name", "changed");
+        when(mongoOperations.exists(any(Query.class), eq(VersionedEntity.class))).thenReturn(true);
+
+        // when
+        assertThrows(OptimisticLockingFailureException.class, () -> MongoWriteSupport.updateById(mongoOperations, VersionedEntity.class, "1", changes, 3L));
+
+        // then
+        verify(mongoOperations).findAndModify(argThat((Query query) -> query.getQueryObject().toJson().contains("\"version\": 3")),
+                any(Update.class), any(FindAndModifyOptions.class), eq(VersionedEntity.class));
+    }
+
+    @Test
+    void updateByIdOfRemovedEntity() {
+        // given
+        Map<String, Object> changes = Collections.singletonMap("name", "changed");
+        when(mongoOperations.exists(any(Query.class), eq(VersionedEntity.class))).thenReturn(false);
+
+        // then
+        assertThrows(NotFoundException.class, () -> MongoWriteSupport.updateById(mongoOperations, VersionedEntity.class, "1", changes, 3L));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class VersionedEntity {
+        @Id
+        private String id;
+        @Version
+        private Long version;
+        private String name;
+    }
+}
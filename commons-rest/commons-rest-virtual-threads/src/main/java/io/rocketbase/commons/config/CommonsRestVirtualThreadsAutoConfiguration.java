@@ -0,0 +1,57 @@
+package io.rocketbase.commons.config;
+
+import io.rocketbase.commons.virtual.OnVirtualThreadsCondition;
+import io.rocketbase.commons.virtual.VirtualThreads;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@Conditional(OnVirtualThreadsCondition.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "virtualThreads.enabled")
+public class CommonsRestVirtualThreadsAutoConfiguration {
+
+    public static final String EXECUTOR_BEAN_NAME = "virtualThreadsExecutor";
+
+    /**
+     * shared by tomcat and spring-mvc - closed on shutdown after the running tasks have been finished
+     */
+    @Bean(name = EXECUTOR_BEAN_NAME, destroyMethod = "close")
+    public ExecutorService virtualThreadsExecutor() {
+        return VirtualThreads.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.coyote.ProtocolHandler")
+    @ConditionalOnProperty(name = "virtualThreads.tomcat.enabled", matchIfMissing = true)
+    public static class TomcatConfiguration {
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer(@Qualifier(EXECUTOR_BEAN_NAME) ExecutorService virtualThreadsExecutor) {
+            return protocolHandler -> protocolHandler.setExecutor(virtualThreadsExecutor);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "virtualThreads.mvcAsync.enabled", matchIfMissing = true)
+    public WebMvcConfigurer virtualThreadsAsyncConfigurer(@Qualifier(EXECUTOR_BEAN_NAME) ExecutorService virtualThreadsExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadsExecutor));
+            }
+        };
+    }
+
+}
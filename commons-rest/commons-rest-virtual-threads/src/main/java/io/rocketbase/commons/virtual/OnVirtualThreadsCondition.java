@@ -0,0 +1,19 @@
+package io.rocketbase.commons.virtual;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * matches when the running jvm supports virtual threads
+ */
+public class OnVirtualThreadsCondition extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return VirtualThreads.isSupported() ?
+                ConditionOutcome.match("virtual threads are supported by java " + System.getProperty("java.version")) :
+                ConditionOutcome.noMatch("virtual threads require jdk 21 - running java " + System.getProperty("java.version"));
+    }
+}
@@ -0,0 +1,77 @@
+package io.rocketbase.commons.virtual;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * access to virtual threads of jdk 21+ while the library itself is compiled for java 8<br>
+ * all methods throw {@link UnsupportedOperationException} when {@link #isSupported()} is false
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    private static final Method IS_VIRTUAL = findMethod(Thread.class, "isVirtual");
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true when the running jvm offers virtual threads (jdk 21+)
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null && OF_VIRTUAL != null && IS_VIRTUAL != null;
+    }
+
+    /**
+     * @return executor that starts a new virtual thread for each task
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        return (ExecutorService) invoke(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR, null);
+    }
+
+    /**
+     * @param name prefix of the thread names - followed by a counter
+     * @return factory for virtual threads, for example to use within a thread pool
+     */
+    public static ThreadFactory threadFactory(String name) {
+        Object builder = invoke(OF_VIRTUAL, null);
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads are not supported", e);
+        }
+    }
+
+    /**
+     * @return true when the thread is a virtual one - always false on jdk before 21
+     */
+    public static boolean isVirtual(Thread thread) {
+        return IS_VIRTUAL != null && (Boolean) invoke(IS_VIRTUAL, thread);
+    }
+
+    private static Object invoke(Method method, Object target) {
+        if (method == null) {
+            throw new UnsupportedOperationException("virtual threads require jdk 21 or later");
+        }
+        try {
+            return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads are not supported", e);
+        }
+    }
+
+    private static Method findMethod(Class<?> clazz, String name) {
+        try {
+            return clazz.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.rocketbase.commons.virtual;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void executorRunsTasksOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        // given
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+
+        // when
+        Boolean virtual = CompletableFuture.supplyAsync(() -> VirtualThreads.isVirtual(Thread.currentThread()), executor)
+                .get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(virtual, equalTo(true));
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread()), equalTo(false));
+    }
+
+    @Test
+    void threadFactoryNamesThreads() {
+        assumeTrue(VirtualThreads.isSupported());
+
+        // when
+        Thread thread = VirtualThreads.threadFactory("company").newThread(() -> {
+        });
+
+        // then
+        assertThat(thread.getName(), startsWith("company-"));
+        assertThat(VirtualThreads.isVirtual(thread), equalTo(true));
+    }
+
+    @Test
+    void unsupportedBeforeJdk21() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread()), equalTo(false));
+        assertThrows(UnsupportedOperationException.class, VirtualThreads::newVirtualThreadPerTaskExecutor);
+    }
+}